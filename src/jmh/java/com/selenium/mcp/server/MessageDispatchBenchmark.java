@@ -0,0 +1,70 @@
+package com.selenium.mcp.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse and dispatch of client messages through MCPServer.handleMessage.
+ * The tool call goes to server_stats, which does not touch the browser.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageDispatchBenchmark {
+    private static final String INITIALIZE = "{\"type\":\"initialize\",\"id\":\"1\"}";
+    private static final String TOOL_CALL = "{\"type\":\"toolCall\",\"id\":\"2\",\"name\":\"server_stats\",\"params\":{}}";
+
+    private BenchmarkServer server;
+
+    @Setup
+    public void setUp() {
+        ServerConfig config = new ServerConfig();
+        config.addCapability("tabs");
+        config.addCapability("files");
+        config.addCapability("install");
+        server = new BenchmarkServer(config);
+    }
+
+    @Benchmark
+    public void initialize(Blackhole blackhole) {
+        server.blackhole = blackhole;
+        server.handleMessage(INITIALIZE);
+    }
+
+    @Benchmark
+    public void toolCall(Blackhole blackhole) {
+        server.blackhole = blackhole;
+        server.handleMessage(TOOL_CALL);
+    }
+
+    private static class BenchmarkServer extends MCPServer {
+        private Blackhole blackhole;
+
+        BenchmarkServer(ServerConfig config) {
+            super(config);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        protected void sendMessage(String message) {
+            blackhole.consume(message);
+        }
+    }
+}
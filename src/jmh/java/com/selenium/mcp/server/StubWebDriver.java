@@ -0,0 +1,116 @@
+package com.selenium.mcp.server;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-memory WebDriver for benchmarks. A page is a flat list of elements;
+ * locators match when their string form contains one of the given fragments.
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor {
+    private final List<WebElement> elements = new ArrayList<>();
+    private final Set<String> matchingFragments;
+
+    public StubWebDriver(int elementCount, Set<String> matchingFragments) {
+        for (int i = 0; i < elementCount; i++) {
+            elements.add(new StubWebElement(i));
+        }
+        this.matchingFragments = matchingFragments;
+    }
+
+    private boolean matches(By by) {
+        String locator = by.toString();
+        for (String fragment : matchingFragments) {
+            if (locator.contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        if (by.toString().equals("By.xpath: //*")) {
+            return elements;
+        }
+        return matches(by) ? Collections.singletonList(elements.get(0)) : Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        if (matches(by)) {
+            return elements.get(0);
+        }
+        throw new NoSuchElementException("No element matches " + by);
+    }
+
+    @Override
+    public void get(String url) {
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "";
+    }
+
+    @Override
+    public String getPageSource() {
+        return "";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void quit() {
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        return Collections.singleton("stub");
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return "stub";
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Navigation navigate() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Options manage() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return null;
+    }
+}
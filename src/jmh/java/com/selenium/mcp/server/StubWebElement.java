@@ -0,0 +1,103 @@
+package com.selenium.mcp.server;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Visible, enabled element with no children, for benchmarks.
+ */
+public class StubWebElement implements WebElement {
+    private final int index;
+
+    public StubWebElement(int index) {
+        this.index = index;
+    }
+
+    @Override
+    public void click() {
+    }
+
+    @Override
+    public void submit() {
+    }
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public String getTagName() {
+        return "div";
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return null;
+    }
+
+    @Override
+    public boolean isSelected() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        return "Element " + index;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        throw new org.openqa.selenium.NoSuchElementException("No child elements");
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        return new Point(0, index * 20);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,52 @@
+package com.selenium.mcp.server.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the tool list sent in the initialize response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolRegistryBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ToolRegistry registry;
+
+    @Setup
+    public void setUp() {
+        registry = new ToolRegistry();
+        registry.registerBrowserTools();
+        registry.registerNavigationTools();
+        registry.registerInteractionTools();
+        registry.registerUtilityTools();
+        registry.registerTabTools();
+        registry.registerFileTools();
+        registry.registerInstallTools();
+    }
+
+    @Benchmark
+    public ArrayNode getToolsAsJson() {
+        return registry.getToolsAsJson(objectMapper);
+    }
+
+    @Benchmark
+    public String getToolsAsJsonSerialized() {
+        return registry.getToolsAsJson(objectMapper).toString();
+    }
+}
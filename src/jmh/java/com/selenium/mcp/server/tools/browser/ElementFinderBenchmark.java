@@ -0,0 +1,51 @@
+package com.selenium.mcp.server.tools.browser;
+
+import com.selenium.mcp.server.StubWebDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebElement;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ElementFinder strategy search against an in-memory driver, so the numbers
+ * reflect pattern matching and fall-through cost rather than browser round trips.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementFinderBenchmark {
+    private StubWebDriver driver;
+
+    @Setup
+    public void setUp() {
+        driver = new StubWebDriver(2000, Set.of("data-testid='submit'", "@aria-label='Search'"));
+    }
+
+    @Benchmark
+    public WebElement elementIndexRef() {
+        return ElementFinder.findElement(driver, "element-1500");
+    }
+
+    @Benchmark
+    public WebElement testIdRef() {
+        return ElementFinder.findElement(driver, "test-id=submit");
+    }
+
+    @Benchmark
+    public WebElement commonSelectorFallback() {
+        return ElementFinder.findElement(driver, "Search");
+    }
+}
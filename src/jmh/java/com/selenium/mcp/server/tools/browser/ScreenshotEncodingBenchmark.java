@@ -0,0 +1,71 @@
+package com.selenium.mcp.server.tools.browser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding screenshot-sized payloads: PNG to JPEG conversion and base64.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScreenshotEncodingBenchmark {
+    @Param({"1280x720", "1920x1080"})
+    public String viewport;
+
+    private byte[] png;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] size = viewport.split("x");
+        int width = Integer.parseInt(size[0]);
+        int height = Integer.parseInt(size[1]);
+
+        // Page-like content: flat background, blocks of colour and text-like stripes
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        java.util.Random random = new java.util.Random(42);
+        for (int i = 0; i < 400; i++) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.fillRect(random.nextInt(width), random.nextInt(height), 10 + random.nextInt(200), 2 + random.nextInt(14));
+        }
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        png = out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] convertToJpeg() throws IOException {
+        return BrowserScreenshotTool.convertToJpeg(png);
+    }
+
+    @Benchmark
+    public String base64Encode() {
+        return Base64.getEncoder().encodeToString(png);
+    }
+}
@@ -0,0 +1,94 @@
+package com.selenium.mcp.server.tools.browser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a tool call response that carries a large snapshot tree,
+ * shaped like the nodes BrowserSnapshotTool produces.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotSerializationBenchmark {
+    private static final int FAN_OUT = 8;
+
+    @Param({"1000", "10000"})
+    public int nodes;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ObjectNode response;
+
+    @Setup
+    public void setUp() {
+        response = objectMapper.createObjectNode();
+        response.put("type", "toolCallResult");
+        response.put("id", "1");
+        ObjectNode result = response.putObject("result");
+        result.put("url", "https://example.com/");
+        result.put("title", "Example");
+
+        ObjectNode root = result.putObject("snapshot");
+        root.put("type", "root");
+        root.put("name", "Document");
+        root.put("ref", "root");
+
+        // Fill the tree breadth-first up to the requested node count
+        java.util.ArrayDeque<ArrayNode> open = new java.util.ArrayDeque<>();
+        open.add(root.putArray("children"));
+        int created = 0;
+        while (created < nodes) {
+            ArrayNode children = open.poll();
+            for (int i = 0; i < FAN_OUT && created < nodes; i++) {
+                ObjectNode node = createNode(children, created++);
+                open.add(node.putArray("children"));
+            }
+        }
+    }
+
+    private static ObjectNode createNode(ArrayNode parent, int index) {
+        ObjectNode node = parent.addObject();
+        node.put("type", index % 3 == 0 ? "a" : "div");
+        node.put("ref", "element-" + index);
+        node.put("name", "Node text content " + index);
+        ObjectNode attributes = node.putObject("attributes");
+        attributes.put("class", "item item-" + (index % 10));
+        if (index % 3 == 0) {
+            attributes.put("href", "https://example.com/page/" + index);
+        }
+        ObjectNode position = node.putObject("position");
+        position.put("x", index % 1280);
+        position.put("y", index * 20);
+        position.put("width", 200);
+        position.put("height", 20);
+        return node;
+    }
+
+    @Benchmark
+    public String toStringSerialization() {
+        return response.toString();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,66 @@
+package com.selenium.mcp.server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Base class for clients that send one tool call at a time and match
+ * responses by id from a queue filled by the transport.
+ */
+public abstract class AbstractMcpClient implements McpClient {
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+    protected final BlockingQueue<JsonNode> messages = new LinkedBlockingQueue<>();
+    protected final long timeoutMs;
+    private int nextId;
+
+    protected AbstractMcpClient(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Send a serialized message to the server.
+     */
+    protected abstract void send(String message) throws Exception;
+
+    @Override
+    public JsonNode call(String tool, JsonNode params) throws Exception {
+        String id = String.valueOf(++nextId);
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("type", "toolCall");
+        message.put("id", id);
+        message.put("name", tool);
+        message.set("params", params);
+        send(message.toString());
+        return awaitMessage("toolCallResult", id);
+    }
+
+    /**
+     * Wait for a message of the given type, and id if not null.
+     * Server errors and error results are thrown.
+     */
+    protected JsonNode awaitMessage(String type, String id) throws Exception {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (true) {
+            JsonNode message = messages.poll(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+            if (message == null) {
+                throw new TimeoutException("No " + type + " message within " + timeoutMs + " ms");
+            }
+            String messageType = message.path("type").asText();
+            if (messageType.equals("error")) {
+                throw new IllegalStateException(message.path("message").asText());
+            }
+            if (messageType.equals(type) && (id == null || id.equals(message.path("id").asText()))) {
+                if (message.has("error")) {
+                    throw new IllegalStateException(message.get("error").path("message").asText());
+                }
+                return message;
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.selenium.mcp.server.loadtest;
+
+import io.undertow.Undertow;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Embedded fixture site for load tests, so runs need no network access.
+ * <ul>
+ *   <li>/static/{n} - static page with n elements, a button (#action) and an input (#query)</li>
+ *   <li>/slow-xhr?delay=ms - page that issues XHRs answered after the given delay</li>
+ *   <li>/spa - page that keeps mutating its DOM</li>
+ * </ul>
+ */
+public class FixtureServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(FixtureServer.class);
+
+    private final Undertow server;
+    private final int port;
+
+    public FixtureServer() {
+        server = Undertow.builder()
+                .addHttpListener(0, "127.0.0.1")
+                .setHandler(this::handle)
+                .build();
+        server.start();
+        port = ((InetSocketAddress) server.getListenerInfo().get(0).getAddress()).getPort();
+        logger.info("Fixture site running on {}", getBaseUrl());
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + port;
+    }
+
+    private void handle(HttpServerExchange exchange) {
+        String path = exchange.getRequestPath();
+        if (path.startsWith("/static/")) {
+            int elements = parseInt(path.substring("/static/".length()), 100);
+            sendHtml(exchange, staticPage(elements));
+        } else if (path.equals("/slow-xhr")) {
+            sendHtml(exchange, slowXhrPage(parseInt(exchange.getQueryParameters().containsKey("delay")
+                    ? exchange.getQueryParameters().get("delay").getFirst() : null, 500)));
+        } else if (path.equals("/api/slow")) {
+            if (exchange.isInIoThread()) {
+                exchange.dispatch(this::handle);
+                return;
+            }
+            int delay = parseInt(exchange.getQueryParameters().containsKey("delay")
+                    ? exchange.getQueryParameters().get("delay").getFirst() : null, 500);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "application/json");
+            exchange.getResponseSender().send("{\"delay\":" + delay + "}");
+        } else if (path.equals("/spa")) {
+            sendHtml(exchange, spaPage());
+        } else {
+            exchange.setStatusCode(404);
+            exchange.getResponseSender().send("Not Found");
+        }
+    }
+
+    private static void sendHtml(HttpServerExchange exchange, String html) {
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "text/html; charset=utf-8");
+        exchange.getResponseSender().send(html);
+    }
+
+    private static String staticPage(int elements) {
+        StringBuilder html = new StringBuilder(elements * 64);
+        html.append("<!DOCTYPE html><html><head><title>Static ").append(elements).append("</title></head><body>");
+        html.append(controls());
+        html.append("<main>");
+        // Sections of ten elements mixing text, links and form fields
+        for (int i = 0; i < elements; i++) {
+            if (i % 10 == 0) {
+                if (i > 0) {
+                    html.append("</section>");
+                }
+                html.append("<section class=\"block\">");
+            }
+            switch (i % 4) {
+                case 0:
+                    html.append("<p class=\"text\">Paragraph ").append(i).append("</p>");
+                    break;
+                case 1:
+                    html.append("<a href=\"#item-").append(i).append("\">Link ").append(i).append("</a>");
+                    break;
+                case 2:
+                    html.append("<span title=\"Item ").append(i).append("\">Item ").append(i).append("</span>");
+                    break;
+                default:
+                    html.append("<input type=\"checkbox\" name=\"option-").append(i).append("\">");
+                    break;
+            }
+        }
+        html.append("</section></main></body></html>");
+        return html.toString();
+    }
+
+    private static String slowXhrPage(int delay) {
+        return "<!DOCTYPE html><html><head><title>Slow XHR</title></head><body>" + controls()
+                + "<ul id=\"results\"></ul><script>"
+                + "function load() { fetch('/api/slow?delay=" + delay + "').then(function(r) { return r.json(); })"
+                + ".then(function(data) { var li = document.createElement('li'); li.textContent = 'Loaded after ' + data.delay + ' ms';"
+                + " document.getElementById('results').appendChild(li); console.log('xhr done', data.delay); }); }"
+                + "load(); document.getElementById('action').addEventListener('click', load);"
+                + "</script></body></html>";
+    }
+
+    private static String spaPage() {
+        return "<!DOCTYPE html><html><head><title>SPA</title></head><body>" + controls()
+                + "<div id=\"app\"></div><script>"
+                + "var app = document.getElementById('app'), tick = 0;"
+                + "function render() { tick++; var list = document.createElement('ul');"
+                + " for (var i = 0; i < 50; i++) { var li = document.createElement('li'); li.textContent = 'Row ' + i + ' @ ' + tick; list.appendChild(li); }"
+                + " app.replaceChildren(list); }"
+                + "render(); setInterval(render, 250);"
+                + "document.getElementById('action').addEventListener('click', function() { console.log('navigate view', tick); render(); });"
+                + "</script></body></html>";
+    }
+
+    private static String controls() {
+        return "<header><button id=\"action\">Action</button><input id=\"query\" placeholder=\"Search\"></header>";
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value != null ? Integer.parseInt(value) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+}
@@ -0,0 +1,252 @@
+package com.selenium.mcp.server.loadtest;
+
+import com.selenium.mcp.server.driver.ProcessMemory;
+import com.selenium.mcp.server.metrics.Histogram;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Load test: N simulated agents, each with its own server process and headless
+ * browser, drive a tool mix against the local fixture site for a fixed duration.
+ * Reports throughput, per-tool latency percentiles and peak server/browser memory.
+ * With several launch profiles, the test runs once per profile and ends with a comparison.
+ */
+public class LoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final Histogram startup = new Histogram();
+    private final AtomicLong peakServerRss = new AtomicLong();
+    private final AtomicLong peakBrowserRss = new AtomicLong();
+    private final String launchProfile;
+    private double throughput;
+    private long totalErrors;
+
+    private LoadTest(String launchProfile) {
+        this.launchProfile = launchProfile;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = createOptions();
+        CommandLine cmd;
+        try {
+            CommandLineParser parser = new DefaultParser();
+            cmd = parser.parse(options, args);
+        } catch (Exception e) {
+            new HelpFormatter().printHelp("loadtest", options);
+            System.exit(1);
+            return;
+        }
+        if (cmd.hasOption("help")) {
+            new HelpFormatter().printHelp("loadtest", options);
+            return;
+        }
+
+        if (!cmd.hasOption("launch-profiles")) {
+            new LoadTest(null).run(cmd);
+            return;
+        }
+
+        List<LoadTest> runs = new ArrayList<>();
+        for (String profile : cmd.getOptionValue("launch-profiles").split(",")) {
+            LoadTest run = new LoadTest(profile.trim());
+            run.run(cmd);
+            runs.add(run);
+        }
+        compare(runs);
+    }
+
+    private static Options createOptions() {
+        Options options = new Options();
+        options.addOption(Option.builder("h").longOpt("help").desc("Display help").build());
+        options.addOption(Option.builder().longOpt("clients").hasArg().argName("count")
+                .desc("Number of simulated clients (default: 4)").build());
+        options.addOption(Option.builder().longOpt("duration").hasArg().argName("seconds")
+                .desc("Measured run time (default: 60)").build());
+        options.addOption(Option.builder().longOpt("transport").hasArg().argName("transport")
+                .desc("stdio or sse (default: stdio)").build());
+        options.addOption(Option.builder().longOpt("base-port").hasArg().argName("port")
+                .desc("First port for SSE servers (default: 9100)").build());
+        options.addOption(Option.builder().longOpt("pages").hasArg().argName("sizes")
+                .desc("Comma-separated element counts of static fixture pages (default: 100,1000,10000)").build());
+        options.addOption(Option.builder().longOpt("driver-path").hasArg().argName("path")
+                .desc("Path to chromedriver, to skip driver resolution when offline").build());
+        options.addOption(Option.builder().longOpt("seed").hasArg().argName("seed")
+                .desc("Random seed for the tool mix (default: 1)").build());
+        options.addOption(Option.builder().longOpt("timeout").hasArg().argName("seconds")
+                .desc("Per-call timeout (default: 120)").build());
+        options.addOption(Option.builder().longOpt("launch-profiles").hasArg().argName("profiles")
+                .desc("Comma-separated browser launch profiles to run and compare, e.g. fast,balanced,faithful").build());
+        return options;
+    }
+
+    private void run(CommandLine cmd) throws Exception {
+        int clients = Integer.parseInt(cmd.getOptionValue("clients", "4"));
+        long durationMs = TimeUnit.SECONDS.toMillis(Long.parseLong(cmd.getOptionValue("duration", "60")));
+        String transport = cmd.getOptionValue("transport", "stdio");
+        int basePort = Integer.parseInt(cmd.getOptionValue("base-port", "9100"));
+        long seed = Long.parseLong(cmd.getOptionValue("seed", "1"));
+        long timeoutMs = TimeUnit.SECONDS.toMillis(Long.parseLong(cmd.getOptionValue("timeout", "120")));
+        List<Integer> pageSizes = new ArrayList<>();
+        for (String size : cmd.getOptionValue("pages", "100,1000,10000").split(",")) {
+            pageSizes.add(Integer.parseInt(size.trim()));
+        }
+        Path logDir = Paths.get("target", "loadtest-logs");
+
+        try (FixtureServer fixture = new FixtureServer()) {
+            ToolMix mix = new ToolMix(fixture.getBaseUrl(), pageSizes);
+            CountDownLatch done = new CountDownLatch(clients);
+            List<McpClient> started = java.util.Collections.synchronizedList(new ArrayList<>());
+            long deadline = System.currentTimeMillis() + durationMs;
+            long measuredFrom = System.currentTimeMillis();
+
+            for (int i = 0; i < clients; i++) {
+                int index = i;
+                Thread thread = new Thread(() -> {
+                    try {
+                        List<String> serverArgs = new ArrayList<>(List.of("--headless", "--isolated", "--browser", "chrome"));
+                        if (cmd.hasOption("driver-path")) {
+                            serverArgs.add("--executable-path");
+                            serverArgs.add(cmd.getOptionValue("driver-path"));
+                        }
+                        if (launchProfile != null) {
+                            serverArgs.add("--launch-profile");
+                            serverArgs.add(launchProfile);
+                        }
+                        Path logFile = logDir.resolve("client-" + index + ".log");
+                        McpClient client;
+                        if (transport.equalsIgnoreCase("sse")) {
+                            serverArgs.add("--port");
+                            serverArgs.add(String.valueOf(basePort + index));
+                            client = new SseMcpClient(serverArgs, basePort + index, logFile, timeoutMs);
+                        } else {
+                            client = new StdioMcpClient(serverArgs, logFile, timeoutMs);
+                        }
+                        started.add(client);
+                        drive(client, mix, new Random(seed + index), deadline);
+                    } catch (Exception e) {
+                        logger.error("Client {} failed: {}", index, e.getMessage());
+                    } finally {
+                        done.countDown();
+                    }
+                }, "loadtest-client-" + i);
+                thread.start();
+            }
+
+            // Sample memory until all clients finish
+            while (!done.await(1, TimeUnit.SECONDS)) {
+                sampleMemory(started);
+            }
+            long elapsedMs = System.currentTimeMillis() - measuredFrom;
+
+            for (McpClient client : started) {
+                client.close();
+            }
+            report(clients, transport, elapsedMs);
+        }
+    }
+
+    private void drive(McpClient client, ToolMix mix, Random random, long deadline) {
+        // The first navigation launches the browser; report it separately
+        ToolMix.Call first = mix.navigate(random);
+        long start = System.nanoTime();
+        try {
+            client.call(first.getTool(), first.getParams());
+            startup.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        } catch (Exception e) {
+            logger.error("Browser startup failed: {}", e.getMessage());
+            return;
+        }
+
+        while (System.currentTimeMillis() < deadline) {
+            ToolMix.Call call = mix.next(random);
+            start = System.nanoTime();
+            try {
+                client.call(call.getTool(), call.getParams());
+            } catch (Exception e) {
+                errors.computeIfAbsent(call.getTool(), tool -> new AtomicLong()).incrementAndGet();
+                logger.debug("{} failed: {}", call.getTool(), e.getMessage());
+            }
+            latencies.computeIfAbsent(call.getTool(), tool -> new Histogram())
+                    .record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+    }
+
+    private void sampleMemory(List<McpClient> clients) {
+        long server = 0;
+        long browser = 0;
+        synchronized (clients) {
+            for (McpClient client : clients) {
+                // The server's descendants are the driver and browser processes it started
+                ProcessHandle process = client.getProcess().toHandle();
+                server += Math.max(ProcessMemory.residentBytes(Stream.of(process)), 0);
+                browser += Math.max(ProcessMemory.residentBytes(process.descendants()), 0);
+            }
+        }
+        peakServerRss.accumulateAndGet(server, Math::max);
+        peakBrowserRss.accumulateAndGet(browser, Math::max);
+    }
+
+    private void report(int clients, String transport, long elapsedMs) {
+        long totalCalls = 0;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nLoad test: %d %s clients, %.1f s%s%n", clients, transport, elapsedMs / 1000.0,
+                launchProfile != null ? ", launch profile " + launchProfile : ""));
+        out.append(String.format("Browser startup: p50 %.0f ms, max %.0f ms%n%n",
+                startup.getValueAtQuantile(0.5) / 1000.0, startup.getMax() / 1000.0));
+        out.append(String.format("%-28s %8s %7s %10s %10s %10s %10s%n", "tool", "calls", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(latencies).entrySet()) {
+            Histogram histogram = entry.getValue();
+            long toolErrors = errors.containsKey(entry.getKey()) ? errors.get(entry.getKey()).get() : 0;
+            totalCalls += histogram.getCount();
+            totalErrors += toolErrors;
+            out.append(String.format("%-28s %8d %7d %10.1f %10.1f %10.1f %10.1f%n", entry.getKey(), histogram.getCount(), toolErrors,
+                    histogram.getValueAtQuantile(0.5) / 1000.0, histogram.getValueAtQuantile(0.95) / 1000.0,
+                    histogram.getValueAtQuantile(0.99) / 1000.0, histogram.getMax() / 1000.0));
+        }
+
+        throughput = totalCalls * 1000.0 / elapsedMs;
+        out.append(String.format("%nThroughput: %.2f calls/s (%d calls, %d errors)%n", throughput, totalCalls, totalErrors));
+        out.append(String.format("Peak memory: servers %s, browsers %s%n", formatBytes(peakServerRss.get()), formatBytes(peakBrowserRss.get())));
+        System.out.print(out);
+    }
+
+    private static void compare(List<LoadTest> runs) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nLaunch profiles%n"));
+        out.append(String.format("%-10s %12s %14s %14s %8s %14s%n", "profile", "startup ms", "calls/s", "navigate p50", "errors", "browser memory"));
+        for (LoadTest run : runs) {
+            Histogram navigate = run.latencies.get("browser_navigate");
+            out.append(String.format("%-10s %12.0f %14.2f %14.1f %8d %14s%n", run.launchProfile,
+                    run.startup.getValueAtQuantile(0.5) / 1000.0, run.throughput,
+                    navigate != null ? navigate.getValueAtQuantile(0.5) / 1000.0 : 0.0,
+                    run.totalErrors, formatBytes(run.peakBrowserRss.get())));
+        }
+        System.out.print(out);
+    }
+
+    private static String formatBytes(long bytes) {
+        return bytes > 0 ? String.format("%.0f MiB", bytes / (1024.0 * 1024.0)) : "n/a";
+    }
+}
@@ -0,0 +1,24 @@
+package com.selenium.mcp.server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A simulated MCP client driving its own server process.
+ */
+public interface McpClient extends AutoCloseable {
+    /**
+     * Call a tool and wait for its result.
+     *
+     * @return the toolCallResult message
+     * @throws Exception if the call fails, times out or the server reports an error
+     */
+    JsonNode call(String tool, JsonNode params) throws Exception;
+
+    /**
+     * Get the server process, for memory sampling.
+     */
+    Process getProcess();
+
+    @Override
+    void close();
+}
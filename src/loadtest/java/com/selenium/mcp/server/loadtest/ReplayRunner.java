@@ -0,0 +1,211 @@
+package com.selenium.mcp.server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selenium.mcp.server.metrics.Histogram;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the tool calls of a recorded traffic trace against a fresh server
+ * process, keeping the recorded pacing (optionally sped up), and compares the
+ * latencies per tool with the recording or with another baseline trace.
+ */
+public class ReplayRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayRunner.class);
+    private static final String FIXTURE_PLACEHOLDER = "{fixture}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Histogram> latencies = new TreeMap<>();
+    private final Map<String, Integer> errors = new TreeMap<>();
+
+    public static void main(String[] args) throws Exception {
+        Options options = createOptions();
+        CommandLine cmd;
+        try {
+            cmd = new DefaultParser().parse(options, args);
+        } catch (Exception e) {
+            new HelpFormatter().printHelp("replay", options);
+            System.exit(1);
+            return;
+        }
+        if (cmd.hasOption("help") || !cmd.hasOption("trace")) {
+            new HelpFormatter().printHelp("replay", options);
+            return;
+        }
+
+        new ReplayRunner().run(cmd);
+    }
+
+    private static Options createOptions() {
+        Options options = new Options();
+        options.addOption(Option.builder("h").longOpt("help").desc("Display help").build());
+        options.addOption(Option.builder().longOpt("trace").hasArg().argName("path")
+                .desc("Traffic trace recorded with --record-traffic").build());
+        options.addOption(Option.builder().longOpt("baseline").hasArg().argName("path")
+                .desc("Trace to compare latencies with (default: the replayed trace)").build());
+        options.addOption(Option.builder().longOpt("speed").hasArg().argName("factor")
+                .desc("Replay speed relative to the recording, 0 for back-to-back calls (default: 1)").build());
+        options.addOption(Option.builder().longOpt("transport").hasArg().argName("transport")
+                .desc("stdio or sse (default: stdio)").build());
+        options.addOption(Option.builder().longOpt("port").hasArg().argName("port")
+                .desc("Port for the SSE server (default: 9100)").build());
+        options.addOption(Option.builder().longOpt("fixture")
+                .desc("Start the local fixture site; use {fixture} in --rewrite targets").build());
+        options.addOption(Option.builder().longOpt("rewrite").hasArgs().argName("from=to")
+                .desc("Replace text in tool parameters, e.g. https://shop.example.com={fixture}").build());
+        options.addOption(Option.builder().longOpt("record").hasArg().argName("path")
+                .desc("Record the replay's own traffic, to use as a later baseline").build());
+        options.addOption(Option.builder().longOpt("driver-path").hasArg().argName("path")
+                .desc("Path to chromedriver, to skip driver resolution when offline").build());
+        options.addOption(Option.builder().longOpt("timeout").hasArg().argName("seconds")
+                .desc("Per-call timeout (default: 120)").build());
+        return options;
+    }
+
+    private void run(CommandLine cmd) throws Exception {
+        TrafficTrace trace = TrafficTrace.read(Paths.get(cmd.getOptionValue("trace")));
+        TrafficTrace baseline = cmd.hasOption("baseline") ? TrafficTrace.read(Paths.get(cmd.getOptionValue("baseline"))) : trace;
+        double speed = Double.parseDouble(cmd.getOptionValue("speed", "1"));
+        long timeoutMs = TimeUnit.SECONDS.toMillis(Long.parseLong(cmd.getOptionValue("timeout", "120")));
+        logger.info("Replaying {} tool calls at {}x", trace.getCalls().size(), speed);
+
+        FixtureServer fixture = cmd.hasOption("fixture") ? new FixtureServer() : null;
+        try {
+            Map<String, String> rewrites = new LinkedHashMap<>();
+            if (cmd.hasOption("rewrite")) {
+                for (String rewrite : cmd.getOptionValues("rewrite")) {
+                    int separator = rewrite.indexOf('=');
+                    if (separator <= 0) {
+                        throw new IllegalArgumentException("Invalid rewrite, expected from=to: " + rewrite);
+                    }
+                    String to = rewrite.substring(separator + 1);
+                    if (fixture != null) {
+                        to = to.replace(FIXTURE_PLACEHOLDER, fixture.getBaseUrl());
+                    }
+                    rewrites.put(rewrite.substring(0, separator), to);
+                }
+            }
+
+            List<String> serverArgs = new ArrayList<>(List.of("--headless"));
+            if (cmd.hasOption("driver-path")) {
+                serverArgs.add("--executable-path");
+                serverArgs.add(cmd.getOptionValue("driver-path"));
+            }
+            if (cmd.hasOption("record")) {
+                serverArgs.add("--record-traffic");
+                serverArgs.add(cmd.getOptionValue("record"));
+            }
+
+            Path logFile = Paths.get("target", "loadtest-logs", "replay.log");
+            McpClient client;
+            if (cmd.getOptionValue("transport", "stdio").equalsIgnoreCase("sse")) {
+                int port = Integer.parseInt(cmd.getOptionValue("port", "9100"));
+                serverArgs.add("--port");
+                serverArgs.add(String.valueOf(port));
+                client = new SseMcpClient(serverArgs, port, logFile, timeoutMs);
+            } else {
+                client = new StdioMcpClient(serverArgs, logFile, timeoutMs);
+            }
+
+            try {
+                replay(client, trace, rewrites, speed);
+            } finally {
+                client.close();
+            }
+        } finally {
+            if (fixture != null) {
+                fixture.close();
+            }
+        }
+
+        report(baseline.getLatencies());
+    }
+
+    private void replay(McpClient client, TrafficTrace trace, Map<String, String> rewrites, double speed) throws Exception {
+        List<TrafficTrace.RecordedCall> calls = trace.getCalls();
+        if (calls.isEmpty()) {
+            return;
+        }
+
+        long recordedStart = calls.get(0).getTs();
+        long replayStart = System.currentTimeMillis();
+        for (TrafficTrace.RecordedCall call : calls) {
+            // Keep the recorded pacing; a call that overruns delays the ones after it
+            if (speed > 0) {
+                long due = replayStart + (long) ((call.getTs() - recordedStart) / speed);
+                long wait = due - System.currentTimeMillis();
+                if (wait > 0) {
+                    Thread.sleep(wait);
+                }
+            }
+
+            long start = System.nanoTime();
+            try {
+                client.call(call.getTool(), rewrite(call.getParams(), rewrites));
+            } catch (Exception e) {
+                errors.merge(call.getTool(), 1, Integer::sum);
+                logger.debug("{} failed: {}", call.getTool(), e.getMessage());
+            }
+            latencies.computeIfAbsent(call.getTool(), tool -> new Histogram())
+                    .record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+    }
+
+    private JsonNode rewrite(JsonNode params, Map<String, String> rewrites) throws Exception {
+        if (rewrites.isEmpty() || params == null || params.isMissingNode()) {
+            return params;
+        }
+        String json = params.toString();
+        for (Map.Entry<String, String> rewrite : rewrites.entrySet()) {
+            json = json.replace(rewrite.getKey(), rewrite.getValue());
+        }
+        return objectMapper.readTree(json);
+    }
+
+    private void report(Map<String, Histogram> baseline) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%n%-28s %6s %6s %11s %11s %11s %11s %8s %8s%n", "tool", "calls", "errors",
+                "base p50", "replay p50", "base p95", "replay p95", "d p50", "d p95"));
+
+        TreeSet<String> tools = new TreeSet<>(latencies.keySet());
+        tools.addAll(baseline.keySet());
+        for (String tool : tools) {
+            Histogram before = baseline.get(tool);
+            Histogram after = latencies.get(tool);
+            out.append(String.format("%-28s %6d %6d %11s %11s %11s %11s %8s %8s%n", tool,
+                    after != null ? after.getCount() : 0, errors.getOrDefault(tool, 0),
+                    formatMs(before, 0.5), formatMs(after, 0.5), formatMs(before, 0.95), formatMs(after, 0.95),
+                    formatDelta(before, after, 0.5), formatDelta(before, after, 0.95)));
+        }
+        System.out.print(out);
+    }
+
+    private static String formatMs(Histogram histogram, double quantile) {
+        return histogram != null ? String.format("%.1f", histogram.getValueAtQuantile(quantile) / 1000.0) : "-";
+    }
+
+    private static String formatDelta(Histogram before, Histogram after, double quantile) {
+        if (before == null || after == null || before.getValueAtQuantile(quantile) == 0) {
+            return "-";
+        }
+        double change = (after.getValueAtQuantile(quantile) - before.getValueAtQuantile(quantile)) * 100.0
+                / before.getValueAtQuantile(quantile);
+        return String.format("%+.0f%%", change);
+    }
+}
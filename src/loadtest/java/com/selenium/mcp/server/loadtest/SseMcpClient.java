@@ -0,0 +1,77 @@
+package com.selenium.mcp.server.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Client talking to an SSEServer process: responses arrive on the event stream,
+ * requests are POSTed to the same endpoint.
+ */
+public class SseMcpClient extends AbstractMcpClient {
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Process process;
+    private final URI endpoint;
+
+    public SseMcpClient(List<String> serverArgs, int port, Path logFile, long timeoutMs) throws Exception {
+        super(timeoutMs);
+        this.process = ServerProcess.start(serverArgs, logFile);
+        this.endpoint = URI.create("http://127.0.0.1:" + port + "/sse");
+
+        awaitListening(URI.create("http://127.0.0.1:" + port + "/"));
+        httpClient.sendAsync(HttpRequest.newBuilder(endpoint).GET().build(), HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(this::onLine));
+
+        awaitMessage("ready", null);
+    }
+
+    private void awaitListening(URI root) throws Exception {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (true) {
+            try {
+                httpClient.send(HttpRequest.newBuilder(root).timeout(Duration.ofSeconds(1)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                if (!process.isAlive() || System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("SSE server did not start on " + root, e);
+                }
+                Thread.sleep(200);
+            }
+        }
+    }
+
+    private void onLine(String line) {
+        if (line.startsWith("data: ")) {
+            try {
+                messages.add(objectMapper.readTree(line.substring("data: ".length())));
+            } catch (IOException e) {
+                // Ignore malformed events
+            }
+        }
+    }
+
+    @Override
+    protected void send(String message) throws Exception {
+        httpClient.send(HttpRequest.newBuilder(endpoint)
+                        .POST(HttpRequest.BodyPublishers.ofString(message))
+                        .header("Content-Type", "application/json")
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    @Override
+    public Process getProcess() {
+        return process;
+    }
+
+    @Override
+    public void close() {
+        ServerProcess.stop(process);
+    }
+}
@@ -0,0 +1,59 @@
+package com.selenium.mcp.server.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Client talking to a StdioServer process over its standard input and output.
+ */
+public class StdioMcpClient extends AbstractMcpClient {
+    private final Process process;
+    private final PrintWriter stdin;
+
+    public StdioMcpClient(List<String> serverArgs, Path logFile, long timeoutMs) throws Exception {
+        super(timeoutMs);
+        this.process = ServerProcess.start(serverArgs, logFile);
+        this.stdin = new PrintWriter(process.getOutputStream(), true, StandardCharsets.UTF_8);
+
+        Thread reader = new Thread(this::readMessages, "stdio-client-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+
+        awaitMessage("ready", null);
+    }
+
+    private void readMessages() {
+        try (BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = stdout.readLine()) != null) {
+                // Log lines share stdout with protocol messages
+                if (line.startsWith("{")) {
+                    messages.add(objectMapper.readTree(line));
+                }
+            }
+        } catch (IOException e) {
+            // Process exited
+        }
+    }
+
+    @Override
+    protected void send(String message) {
+        stdin.println(message);
+    }
+
+    @Override
+    public Process getProcess() {
+        return process;
+    }
+
+    @Override
+    public void close() {
+        stdin.close();
+        ServerProcess.stop(process);
+    }
+}
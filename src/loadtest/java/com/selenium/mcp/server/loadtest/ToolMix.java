@@ -0,0 +1,114 @@
+package com.selenium.mcp.server.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted mix of tool calls resembling an agent working through fixture pages.
+ */
+public class ToolMix {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> pages = new ArrayList<>();
+    private final List<String> tools = new ArrayList<>();
+    private final List<Integer> weights = new ArrayList<>();
+    private int totalWeight;
+
+    public ToolMix(String baseUrl, List<Integer> staticSizes) {
+        for (int size : staticSizes) {
+            pages.add(baseUrl + "/static/" + size);
+        }
+        pages.add(baseUrl + "/slow-xhr?delay=500");
+        pages.add(baseUrl + "/spa");
+
+        add("browser_navigate", 15);
+        add("browser_snapshot", 15);
+        add("browser_click", 15);
+        add("browser_type", 10);
+        add("browser_take_screenshot", 10);
+        add("browser_network_requests", 10);
+        add("browser_console_messages", 10);
+        add("browser_wait_for", 5);
+    }
+
+    private void add(String tool, int weight) {
+        tools.add(tool);
+        weights.add(weight);
+        totalWeight += weight;
+    }
+
+    /**
+     * A call navigating to a random fixture page.
+     */
+    public Call navigate(Random random) {
+        ObjectNode params = objectMapper.createObjectNode();
+        params.put("url", pages.get(random.nextInt(pages.size())));
+        return new Call("browser_navigate", params);
+    }
+
+    /**
+     * Pick the next call.
+     */
+    public Call next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        String tool = tools.get(tools.size() - 1);
+        for (int i = 0; i < tools.size(); i++) {
+            pick -= weights.get(i);
+            if (pick < 0) {
+                tool = tools.get(i);
+                break;
+            }
+        }
+
+        ObjectNode params = objectMapper.createObjectNode();
+        switch (tool) {
+            case "browser_navigate":
+                return navigate(random);
+            case "browser_click":
+                params.put("element", "Action button");
+                params.put("ref", "action");
+                break;
+            case "browser_type":
+                params.put("element", "Search box");
+                params.put("ref", "query");
+                params.put("text", "load test");
+                params.put("clear", true);
+                break;
+            case "browser_take_screenshot":
+                // Reuse one file so long runs do not fill the disk
+                params.put("filename", "loadtest.jpeg");
+                break;
+            case "browser_network_requests":
+            case "browser_console_messages":
+                params.put("limit", 50);
+                break;
+            case "browser_wait_for":
+                params.put("text", "Action");
+                break;
+            default:
+                break;
+        }
+        return new Call(tool, params);
+    }
+
+    public static class Call {
+        private final String tool;
+        private final ObjectNode params;
+
+        Call(String tool, ObjectNode params) {
+            this.tool = tool;
+            this.params = params;
+        }
+
+        public String getTool() {
+            return tool;
+        }
+
+        public ObjectNode getParams() {
+            return params;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.selenium.mcp.server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selenium.mcp.server.metrics.Histogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tool calls read from a traffic trace written with --record-traffic,
+ * with the latency each call had when it was recorded.
+ */
+public class TrafficTrace {
+    private final List<RecordedCall> calls = new ArrayList<>();
+
+    public static TrafficTrace read(Path path) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        TrafficTrace trace = new TrafficTrace();
+        Map<String, RecordedCall> pending = new HashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode entry = objectMapper.readTree(line);
+                JsonNode message = entry.path("message");
+                String type = message.path("type").asText();
+                String id = message.path("id").asText();
+                long ts = entry.path("ts").asLong();
+
+                if (entry.path("dir").asText().equals("in") && type.equals("toolCall")) {
+                    RecordedCall call = new RecordedCall(ts, message.path("name").asText(), message.path("params"));
+                    trace.calls.add(call);
+                    pending.put(id, call);
+                } else if (entry.path("dir").asText().equals("out") && type.equals("toolCallResult")) {
+                    RecordedCall call = pending.remove(id);
+                    if (call != null) {
+                        call.latencyMs = ts - call.ts;
+                        call.failed = message.has("error");
+                    }
+                }
+            }
+        }
+        return trace;
+    }
+
+    public List<RecordedCall> getCalls() {
+        return calls;
+    }
+
+    /**
+     * Get the recorded latencies of completed calls by tool, in microseconds.
+     */
+    public Map<String, Histogram> getLatencies() {
+        Map<String, Histogram> latencies = new TreeMap<>();
+        for (RecordedCall call : calls) {
+            if (call.latencyMs >= 0) {
+                latencies.computeIfAbsent(call.tool, tool -> new Histogram())
+                        .record(TimeUnit.MILLISECONDS.toMicros(call.latencyMs));
+            }
+        }
+        return latencies;
+    }
+
+    public static class RecordedCall {
+        private final long ts;
+        private final String tool;
+        private final JsonNode params;
+        private long latencyMs = -1;
+        private boolean failed;
+
+        RecordedCall(long ts, String tool, JsonNode params) {
+            this.ts = ts;
+            this.tool = tool;
+            this.params = params;
+        }
+
+        public long getTs() {
+            return ts;
+        }
+
+        public String getTool() {
+            return tool;
+        }
+
+        public JsonNode getParams() {
+            return params;
+        }
+
+        public long getLatencyMs() {
+            return latencyMs;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+    }
+}
@@ -1,89 +1,817 @@
 package com.selenium.mcp.server;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.selenium.mcp.server.devtools.BlockingRules;
+import com.selenium.mcp.server.devtools.BrowserContexts;
+import com.selenium.mcp.server.devtools.CdpSession;
+import com.selenium.mcp.server.devtools.ConsoleCapture;
+import com.selenium.mcp.server.devtools.NetworkCapture;
+import com.selenium.mcp.server.devtools.ResourceBlocker;
+import com.selenium.mcp.server.devtools.Screencast;
+import com.selenium.mcp.server.devtools.TabSessions;
+import com.selenium.mcp.server.driver.BrowserPool;
+import com.selenium.mcp.server.driver.DriverResolver;
+import com.selenium.mcp.server.driver.LaunchProfile;
+import com.selenium.mcp.server.driver.ProcessMemory;
+import com.selenium.mcp.server.driver.ProfileTemplate;
+import com.selenium.mcp.server.driver.SharedDriverService;
+import com.selenium.mcp.server.jfr.DriverCreateEvent;
+import com.selenium.mcp.server.jfr.DriverQuitEvent;
+import com.selenium.mcp.server.metrics.DriverCommandStats;
+import com.selenium.mcp.server.proxy.CachingProxy;
+import com.selenium.mcp.server.proxy.HttpCache;
 import org.openqa.selenium.Dimension;
+import org.openqa.selenium.HasCapabilities;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
 import org.openqa.selenium.edge.EdgeOptions;
-import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages browser instances for the MCP server.
  */
 public class BrowserManager {
     private static final Logger logger = LoggerFactory.getLogger(BrowserManager.class);
+    private static final long MEMORY_CHECK_INTERVAL_MS = 15_000;
     private final ServerConfig config;
     private WebDriver driver;
     private List<String> openTabs = new ArrayList<>();
     private int currentTabIndex = 0;
+    private CdpSession cdpSession;
+    private TabSessions tabSessions;
+    private NetworkCapture networkCapture;
+    private ConsoleCapture consoleCapture;
+    private ResourceBlocker resourceBlocker;
+    private Screencast screencast;
+    private EventSink eventSink = (event, data) -> false;
+    private final DriverCommandStats commandStats = new DriverCommandStats();
+    private volatile String sessionId;
+    private final DriverResolver driverResolver;
+    private final Map<String, SharedDriverService> driverServices = new ConcurrentHashMap<>();
+    // Replaced after a driver version mismatch, kept for the sessions still running on them
+    private final List<SharedDriverService> retiredServices = new CopyOnWriteArrayList<>();
+    private WebDriver contextHost;
+    private BrowserContexts browserContexts;
+    private String browserContextId;
+    // Started with the manager and never replaced, so browser launches read it without taking this object's lock
+    private final CachingProxy cachingProxy;
+    private final ProfileTemplate profileTemplate;
+    private Path sessionProfile;
+    private SharedDriverService sessionService;
+    private final Map<String, String> tabUrls = new HashMap<>();
+    private final ScheduledExecutorService healthMonitor;
+    private long errorsAtLastCheck;
+    private int recoveries;
+    private int activeToolCalls;
+    private long browserPid;
+    private long memoryCheckedAt;
+    private int recycles;
+    private BrowserPool browserPool;
 
     public BrowserManager(ServerConfig config) {
         this.config = config;
+        this.driverResolver = new DriverResolver(config.getDriverManifest() != null
+                ? Paths.get(config.getDriverManifest())
+                : getCacheDir().toPath().resolve("drivers.json"));
+        if (config.getProfileTemplate() != null) {
+            this.profileTemplate = new ProfileTemplate(Paths.get(config.getProfileTemplate()), config.getProfileCloneDir() != null
+                    ? Paths.get(config.getProfileCloneDir())
+                    : Paths.get(System.getProperty("java.io.tmpdir")));
+            this.profileTemplate.removeStaleClones();
+        } else {
+            this.profileTemplate = null;
+        }
+        this.cachingProxy = startCachingProxy(config);
+        int interval = config.getHealthCheckIntervalSeconds();
+        if (interval > 0) {
+            this.healthMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "browser-health");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.healthMonitor.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.SECONDS);
+        } else {
+            this.healthMonitor = null;
+        }
+    }
+
+    /**
+     * Get the server configuration.
+     */
+    public ServerConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Set the sink used to push unsolicited events to the client.
+     */
+    public void setEventSink(EventSink eventSink) {
+        this.eventSink = eventSink;
+    }
+
+    /**
+     * Get the sink used to push unsolicited events to the client.
+     */
+    public EventSink getEventSink() {
+        return eventSink;
+    }
+
+    /**
+     * Check whether the current browser speaks the Chrome DevTools Protocol.
+     */
+    public synchronized boolean isChromium() {
+        WebDriver webDriver = getDriver();
+        if (!(webDriver instanceof HasDevTools) || !(webDriver instanceof HasCapabilities)) {
+            return false;
+        }
+
+        String name = ((HasCapabilities) webDriver).getCapabilities().getBrowserName().toLowerCase();
+        return name.equals("chrome") || name.equals("msedge") || name.equals("microsoftedge");
+    }
+
+    /**
+     * Get a CDP session attached to the current tab, or null if the browser does not support CDP.
+     */
+    public synchronized CdpSession getCdpSession() {
+        if (!isChromium()) {
+            return null;
+        }
+
+        if (cdpSession == null) {
+            Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+            if (devTools.isEmpty()) {
+                return null;
+            }
+            cdpSession = new CdpSession(devTools.get());
+        }
+
+        cdpSession.attach(driver.getWindowHandle());
+        return cdpSession;
+    }
+
+    /**
+     * Get the active screencast, if any.
+     */
+    public synchronized Screencast getScreencast() {
+        return screencast;
+    }
+
+    /**
+     * Set the active screencast.
+     */
+    public synchronized void setScreencast(Screencast screencast) {
+        this.screencast = screencast;
     }
 
     /**
      * Get the WebDriver instance, creating it if necessary.
      */
     public synchronized WebDriver getDriver() {
+        if (driver != null && commandStats.getErrors() != errorsAtLastCheck) {
+            // A failed call may mean the browser died; check before handing it out again
+            checkSession();
+        }
         if (driver == null) {
-            driver = createDriver();
+            startSession();
+            startCapture();
+        }
+        return driver;
+    }
+
+    /**
+     * Check the session from the health monitor thread.
+     */
+    private synchronized void checkHealth() {
+        try {
+            checkSession();
+        } catch (Exception e) {
+            logger.error("Could not replace the browser session: {}", e.getMessage());
+        }
+    }
 
-            // Set viewport size
-            driver.manage().window().setSize(
-                    new Dimension(config.getViewportWidth(), config.getViewportHeight())
-            );
+    /**
+     * Probe the session and replace it if the browser no longer answers. Sessions
+     * that are not on a shared driver service, such as Safari's, are not probed.
+     */
+    private void checkSession() {
+        errorsAtLastCheck = commandStats.getErrors();
+        if (driver == null || sessionService == null || sessionId == null || commandStats.getInFlight() > 0) {
+            // A session busy with a command cannot answer the probe in time
+            return;
+        }
 
-            // Initialize tabs list
-            openTabs.add(driver.getWindowHandle());
+        long calls = commandStats.getStarted();
+        if (sessionService.probeSession(sessionId)) {
+            String url = sessionService.getSessionUrl(sessionId);
+            if (url != null && !openTabs.isEmpty()) {
+                tabUrls.put(openTabs.get(currentTabIndex), url);
+            }
+            return;
+        }
+        if (commandStats.getInFlight() > 0 || commandStats.getStarted() != calls) {
+            // A command started during the probe, so the probe may only have waited for it
+            return;
+        }
+        recoverSession();
+    }
+
+    /**
+     * Replace a session whose browser crashed or hangs with a new one, reopening
+     * its tabs at the URLs last seen by the health checks.
+     */
+    private void recoverSession() {
+        long start = System.nanoTime();
+        String deadSession = sessionId;
+        List<String> urls = new ArrayList<>();
+        for (String handle : openTabs) {
+            urls.add(tabUrls.get(handle));
+        }
+        logger.warn("Browser session {} is not responding, replacing it", deadSession);
+        replaceSession(urls, currentTabIndex, false);
+        recoveries++;
+        logger.info("Replaced browser session {} with {} in {} ms", deadSession, sessionId, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Quit or abandon the current browser, start a new one and reopen the given tabs in it.
+     *
+     * @param urls       URL of each tab, or null to open it blank
+     * @param index      tab to make current
+     * @param responsive whether the old browser still answers, so it can be quit cleanly
+     */
+    private void replaceSession(List<String> urls, int index, boolean responsive) {
+        stopCapture();
+        if (contextHost != null) {
+            if (responsive) {
+                quitContextHost();
+            } else {
+                // The host browser is gone, and its contexts with it
+                browserContextId = null;
+                browserContexts.close();
+                browserContexts = null;
+                contextHost = null;
+            }
+        }
+        if (driver != null) {
+            if (responsive || sessionService == null || sessionService.isHealthy()) {
+                quitDriver();
+            } else {
+                // Quitting through a hung driver would only wait out the command timeout;
+                // the service is restarted before the next session is created
+                forgetDriver();
+            }
+        }
+
+        startSession();
+        startCapture();
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i);
+            try {
+                if (i > 0) {
+                    openNewTab(url);
+                } else if (url != null && !url.equals("about:blank")) {
+                    driver.get(url);
+                }
+            } catch (Exception e) {
+                logger.warn("Could not reopen {} in the new session: {}", url, e.getMessage());
+            }
+        }
+        if (index < openTabs.size()) {
+            switchToTab(index);
+        }
+    }
+
+    /**
+     * Get the number of sessions replaced after their browser stopped responding.
+     */
+    public synchronized int getRecoveries() {
+        return recoveries;
+    }
+
+    /**
+     * Note that a tool call started. The browser is never recycled during one.
+     */
+    public synchronized void toolCallStarted() {
+        activeToolCalls++;
+    }
+
+    /**
+     * Note that a tool call finished. When no other call is running, this is a
+     * safe point to replace a browser that reached a recycling limit.
+     */
+    public synchronized void toolCallFinished() {
+        activeToolCalls--;
+        if (activeToolCalls > 0 || driver == null) {
+            return;
+        }
+        try {
+            String reason = getRecycleReason();
+            if (reason != null) {
+                recycleSession(reason);
+            }
+        } catch (Exception e) {
+            logger.error("Could not recycle the browser: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Check the recycling limits against the current browser.
+     *
+     * @return why the browser should be recycled, or null if it is within its limits
+     */
+    private String getRecycleReason() {
+        long navigations = commandStats.getSessionNavigations();
+        if (config.getRecycleNavigations() > 0 && navigations >= config.getRecycleNavigations()) {
+            return navigations + " navigations";
+        }
+        long ageMinutes = commandStats.getSessionAgeMs() / 60_000;
+        if (config.getRecycleAgeMinutes() > 0 && ageMinutes >= config.getRecycleAgeMinutes()) {
+            return "running for " + ageMinutes + " minutes";
+        }
+        if (config.getRecycleMemoryMb() > 0 && System.currentTimeMillis() - memoryCheckedAt >= MEMORY_CHECK_INTERVAL_MS) {
+            memoryCheckedAt = System.currentTimeMillis();
+            if (browserPid == 0) {
+                browserPid = ProcessMemory.findBrowserPid(driver);
+                if (browserPid < 0) {
+                    logger.info("Browser does not report its process, memory limit not enforced for this browser");
+                }
+            }
+            long megabytes = browserPid > 0 ? ProcessMemory.residentBytes(browserPid) / (1024 * 1024) : -1;
+            if (megabytes >= config.getRecycleMemoryMb()) {
+                return "using " + megabytes + " MB";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replace the browser with a fresh one, keeping its tabs open at their current URLs.
+     */
+    private void recycleSession(String reason) {
+        long start = System.nanoTime();
+        String oldSession = sessionId;
+        List<String> urls = new ArrayList<>();
+        try {
+            for (String handle : openTabs) {
+                driver.switchTo().window(handle);
+                urls.add(driver.getCurrentUrl());
+            }
+        } catch (Exception e) {
+            logger.warn("Could not read the open tabs before recycling: {}", e.getMessage());
+        }
+        logger.info("Recycling browser session {} after {}", oldSession, reason);
+        replaceSession(urls, currentTabIndex, true);
+        recycles++;
+        logger.info("Recycled browser session {} into {} in {} ms", oldSession, sessionId, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Get the number of browsers replaced after reaching a recycling limit.
+     */
+    public synchronized int getRecycles() {
+        return recycles;
+    }
+
+    /**
+     * Start a browser session: a new browser context in the shared browser when
+     * browser contexts are enabled and available, otherwise a new browser.
+     */
+    private void startSession() {
+        if (contextHost != null) {
+            driver = contextHost;
+            if (openBrowserContext()) {
+                return;
+            }
+            logger.warn("Could not open a browser context, starting a new browser instead");
+            quitContextHost();
+        }
+
+        driver = createDriver();
+
+        if (config.isBrowserContexts() && startContextHost()) {
+            if (openBrowserContext()) {
+                return;
+            }
+            // Use the browser as a plain session, so it is quit on close
+            browserContexts.close();
+            browserContexts = null;
+            contextHost = null;
+        }
+
+        // Initialize tabs list
+        openTabs.add(driver.getWindowHandle());
+    }
+
+    /**
+     * Keep the new browser running to host browser contexts. Its first window
+     * stays open in the default context so the browser outlives each context.
+     */
+    private boolean startContextHost() {
+        if (!isChromium()) {
+            logger.info("Browser contexts need a Chromium browser, using a browser per session");
+            return false;
+        }
+
+        try {
+            Optional<BrowserContexts> contexts = BrowserContexts.connect(driver);
+            if (contexts.isEmpty()) {
+                logger.warn("Browser does not expose a DevTools endpoint, using a browser per session");
+                return false;
+            }
+            browserContexts = contexts.get();
+            contextHost = driver;
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not connect to the browser for contexts: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Open a new browser context in the host browser and switch to its page.
+     */
+    private boolean openBrowserContext() {
+        long start = System.nanoTime();
+        try {
+            BrowserContexts.Context context = browserContexts.create(config.getViewportWidth(), config.getViewportHeight());
+            browserContextId = context.getId();
+            driver.switchTo().window(context.getTargetId());
+            openTabs.add(context.getTargetId());
+            currentTabIndex = 0;
+            logger.info("Opened browser context {} in {} ms", browserContextId, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not open browser context: {}", e.getMessage());
+            if (browserContextId != null) {
+                browserContexts.dispose(browserContextId);
+                browserContextId = null;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Dispose the current browser context, closing its tabs and discarding its storage.
+     */
+    private void disposeBrowserContext() {
+        if (browserContextId != null) {
+            browserContexts.dispose(browserContextId);
+            logger.info("Disposed browser context {}", browserContextId);
+            browserContextId = null;
+        }
+    }
+
+    /**
+     * Quit the browser hosting browser contexts.
+     */
+    private void quitContextHost() {
+        disposeBrowserContext();
+        browserContexts.close();
+        browserContexts = null;
+        WebDriver host = contextHost;
+        contextHost = null;
+        driver = host;
+        quitDriver();
+    }
+
+    /**
+     * Start capturing console messages and network traffic, and blocking resources,
+     * as soon as the session exists, so nothing before the first tool call is missed.
+     */
+    private void startCapture() {
+        consoleCapture = new ConsoleCapture(config.getConsoleBufferSize());
+        try {
+            CdpSession session = getCdpSession();
+            if (session != null) {
+                Optional<TabSessions> connected = TabSessions.connect(driver);
+                if (connected.isPresent()) {
+                    tabSessions = connected.get();
+                    consoleCapture.startCdp(tabSessions);
+                    networkCapture = new NetworkCapture(tabSessions, config.getNetworkBufferSize());
+                    networkCapture.start();
+                    resourceBlocker = new ResourceBlocker(tabSessions, getDefaultBlockingRules());
+                    resourceBlocker.start();
+                    // Attach once every listener is registered, so each tab is prepared before it runs
+                    tabSessions.start();
+                }
+            } else if (config.getBrowserName().equalsIgnoreCase("firefox")) {
+                consoleCapture.startBiDi(driver, () -> openTabs.get(currentTabIndex));
+            }
+        } catch (Exception e) {
+            logger.warn("Could not start console and network capture: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Get the resource blocking rules configured at startup.
+     */
+    public BlockingRules getDefaultBlockingRules() {
+        return new BlockingRules(config.getBlockedResourceTypes(), config.getBlockedUrlPatterns());
+    }
+
+    /**
+     * Get the resource blocker for the current session, or null if the browser does not support CDP.
+     */
+    public synchronized ResourceBlocker getResourceBlocker() {
+        getDriver();
+        return resourceBlocker;
+    }
+
+    /**
+     * Get the network capture for the current browser, or null if the browser does not support CDP.
+     */
+    public synchronized NetworkCapture getNetworkCapture() {
+        return networkCapture;
+    }
+
+    /**
+     * Get the console message buffers for the current browser.
+     */
+    public synchronized ConsoleCapture getConsoleCapture() {
+        getDriver();
+        return consoleCapture;
+    }
+
+    /**
+     * Move the CDP session to the current tab after a tab change.
+     */
+    private void followCurrentTab() {
+        if (cdpSession == null) {
+            return;
+        }
+        try {
+            cdpSession.attach(driver.getWindowHandle());
+        } catch (Exception e) {
+            logger.warn("Could not attach CDP session to current tab: {}", e.getMessage());
         }
-        return driver;
     }
 
     /**
-     * Create a new WebDriver instance based on the configuration.
+     * Get the ID of the current WebDriver session, or null if no session is running.
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Get the WebDriver call counters.
+     */
+    public DriverCommandStats getCommandStats() {
+        return commandStats;
+    }
+
+    /**
+     * Create a new WebDriver instance, wrapped so its calls are counted and timed.
+     * The decorated driver implements the same interfaces as the original,
+     * so checks such as HasDevTools keep working.
      */
     private WebDriver createDriver() {
+        DriverCreateEvent event = new DriverCreateEvent();
+        event.begin();
+        BrowserPool.PooledBrowser browser = browserPool != null ? browserPool.take() : null;
+        if (browser == null) {
+            browser = launchBrowser(false);
+        }
+        WebDriver created = browser.getDriver();
+        sessionProfile = browser.getProfile();
+        sessionService = findDriverService(created);
+        sessionId = created instanceof RemoteWebDriver ? String.valueOf(((RemoteWebDriver) created).getSessionId()) : null;
+        event.end();
+        if (event.shouldCommit()) {
+            event.browser = config.getBrowserName();
+            event.headless = config.isHeadless();
+            event.session = sessionId;
+            event.commit();
+        }
+
+        commandStats.startSession();
+        return new EventFiringDecorator<WebDriver>(commandStats).decorate(created);
+    }
+
+    /**
+     * Launch a browser at the configured viewport size, on its own copy of the
+     * profile template if one is configured. Called from the pool's threads too.
+     *
+     * @param warmUp whether to load the pool's warm-up URL before returning
+     */
+    private BrowserPool.PooledBrowser launchBrowser(boolean warmUp) {
+        Path profile = profileTemplate != null ? cloneProfileTemplate() : null;
+        WebDriver created;
+        try {
+            created = createBrowserDriver(profile != null ? profile.toString() : config.getUserDataDir());
+        } catch (RuntimeException e) {
+            if (profile != null) {
+                ProfileTemplate.delete(profile);
+            }
+            throw e;
+        }
+
+        BrowserPool.PooledBrowser browser = new BrowserPool.PooledBrowser(created, profile);
+        try {
+            created.manage().window().setSize(new Dimension(config.getViewportWidth(), config.getViewportHeight()));
+            if (warmUp && config.getPoolWarmupUrl() != null) {
+                try {
+                    created.get(config.getPoolWarmupUrl());
+                } catch (Exception e) {
+                    logger.warn("Could not load warm-up URL {}: {}", config.getPoolWarmupUrl(), e.getMessage());
+                }
+                // Sessions start on a blank page, with the warm-up page's code already compiled and cached
+                created.get("about:blank");
+            }
+        } catch (RuntimeException e) {
+            browser.discard();
+            throw e;
+        }
+        return browser;
+    }
+
+    /**
+     * Launch the configured number of browsers in parallel and wait until the
+     * pool's minimum is running, so the first sessions do not wait for a launch.
+     */
+    public void startPool() throws InterruptedException {
+        int size = config.getPoolSize();
+        if (size <= 0) {
+            return;
+        }
+        String serviceName = getServiceName();
+        if (!"chrome".equals(serviceName) && !"edge".equals(serviceName)) {
+            logger.warn("Browser pool disabled: geckodriver and safaridriver run one session at a time");
+            return;
+        }
+        if (config.isBrowserContexts()) {
+            logger.warn("Browser pool disabled: browser contexts already reuse one running browser");
+            return;
+        }
+        if (profileTemplate == null && (config.getUserDataDir() != null || !config.isIsolated())) {
+            logger.warn("Browser pool disabled: browsers cannot share a profile, use --isolated or --profile-template");
+            return;
+        }
+
+        long start = System.nanoTime();
+        BrowserPool pool;
+        if (profileTemplate != null) {
+            // Prepare the template once here rather than in a pool thread, which would hold
+            // the template lock for the whole warm-up while the other threads wait for it
+            try {
+                ensureProfileTemplatePrepared();
+            } catch (Exception e) {
+                logger.warn("Could not prepare profile template {}: {}", profileTemplate.getTemplate(), e.getMessage());
+            }
+        }
+        synchronized (this) {
+            pool = new BrowserPool(size, () -> launchBrowser(true));
+            browserPool = pool;
+        }
+        pool.fill();
+        int minimum = config.getPoolMinimum() >= 0 ? Math.min(config.getPoolMinimum(), size) : size;
+        if (pool.awaitIdle(minimum)) {
+            logger.info("{} pooled browsers ready in {} ms", pool.getIdle(), (System.nanoTime() - start) / 1_000_000);
+        } else {
+            logger.warn("Only {} of at least {} pooled browsers could be launched", pool.getIdle(), minimum);
+        }
+    }
+
+    /**
+     * Get the number of idle browsers in the pool, or -1 if there is no pool.
+     */
+    public synchronized int getPoolIdle() {
+        return browserPool != null ? browserPool.getIdle() : -1;
+    }
+
+    /**
+     * Get the name of the shared driver service for the configured browser, or null for Safari.
+     */
+    private String getServiceName() {
+        switch (config.getBrowserName().toLowerCase()) {
+            case "firefox":
+                return "firefox";
+            case "edge":
+                return "edge";
+            case "safari":
+                return null;
+            default:
+                return "chrome";
+        }
+    }
+
+    /**
+     * Give a new browser its own copy of the profile template, preparing the template first if needed.
+     *
+     * @return the clone, or null to fall back to the configured profile
+     */
+    private Path cloneProfileTemplate() {
+        try {
+            ensureProfileTemplatePrepared();
+            return profileTemplate.cloneProfile();
+        } catch (Exception e) {
+            logger.warn("Could not clone profile template {}: {}", profileTemplate.getTemplate(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Prepare the profile template unless an earlier run already did.
+     */
+    private void ensureProfileTemplatePrepared() throws Exception {
+        // Pooled browsers are launched in parallel, but the template is prepared once
+        synchronized (profileTemplate) {
+            if (!profileTemplate.isPrepared()) {
+                prepareProfileTemplate();
+            }
+        }
+    }
+
+    /**
+     * Warm up the template by running a browser on it once and visiting the warm-up URLs.
+     */
+    private void prepareProfileTemplate() throws Exception {
+        logger.info("Preparing profile template in {}", profileTemplate.getTemplate());
+        profileTemplate.reset();
+        WebDriver warmup = createBrowserDriver(profileTemplate.getTemplate().toString());
+        try {
+            for (String url : config.getProfileWarmupUrls()) {
+                try {
+                    warmup.get(url);
+                } catch (Exception e) {
+                    logger.warn("Could not load {} into the profile template: {}", url, e.getMessage());
+                }
+            }
+        } finally {
+            warmup.quit();
+        }
+        profileTemplate.markPrepared();
+    }
+
+    /**
+     * Delete the current session's clone of the profile template.
+     */
+    private void deleteSessionProfile() {
+        if (sessionProfile != null) {
+            ProfileTemplate.delete(sessionProfile);
+            sessionProfile = null;
+        }
+    }
+
+    /**
+     * Create a new browser-specific WebDriver instance based on the configuration.
+     */
+    private WebDriver createBrowserDriver(String userDataDir) {
         String browserName = config.getBrowserName().toLowerCase();
         boolean headless = config.isHeadless();
-        String userDataDir = config.getUserDataDir();
         String executablePath = config.getExecutablePath();
 
         logger.info("Creating {} WebDriver (headless: {})", browserName, headless);
 
         switch (browserName) {
             case "chrome":
-                return createChromeDriver(headless, userDataDir, executablePath);
+                return createChromeDriver(headless, userDataDir);
             case "firefox":
-                return createFirefoxDriver(headless, userDataDir, executablePath);
+                return createFirefoxDriver(headless, userDataDir);
             case "edge":
-                return createEdgeDriver(headless, userDataDir, executablePath);
+                return createEdgeDriver(headless, userDataDir);
             case "safari":
                 return createSafariDriver(executablePath);
             default:
                 logger.warn("Unknown browser: {}. Using Chrome instead.", browserName);
-                return createChromeDriver(headless, userDataDir, executablePath);
+                return createChromeDriver(headless, userDataDir);
         }
     }
 
-    private WebDriver createChromeDriver(boolean headless, String userDataDir, String executablePath) {
-        if (executablePath == null) {
-            WebDriverManager.chromedriver().setup();
-        } else {
-            System.setProperty("webdriver.chrome.driver", executablePath);
-        }
-
+    private WebDriver createChromeDriver(boolean headless, String userDataDir) {
         ChromeOptions options = new ChromeOptions();
         if (headless) {
             options.addArguments("--headless=new");
@@ -100,22 +828,21 @@ public class BrowserManager {
         // Add common options
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
+        LaunchProfile.apply(config.getLaunchProfile(), options);
+        addChromiumProxy(options);
 
-        return new ChromeDriver(options);
+        return createSharedServiceDriver("chrome", options);
     }
 
-    private WebDriver createFirefoxDriver(boolean headless, String userDataDir, String executablePath) {
-        if (executablePath == null) {
-            WebDriverManager.firefoxdriver().setup();
-        } else {
-            System.setProperty("webdriver.gecko.driver", executablePath);
-        }
-
+    private WebDriver createFirefoxDriver(boolean headless, String userDataDir) {
         FirefoxOptions options = new FirefoxOptions();
         if (headless) {
             options.addArguments("-headless");
         }
 
+        // Enable WebDriver BiDi for console capture
+        options.setCapability("webSocketUrl", true);
+
         if (userDataDir != null || !config.isIsolated()) {
             // Firefox uses a profile instead of user-data-dir
             if (userDataDir == null) {
@@ -124,17 +851,23 @@ public class BrowserManager {
             options.addArguments("-profile");
             options.addArguments(userDataDir);
         }
+        LaunchProfile.apply(config.getLaunchProfile(), options);
+        ResourceBlocker.applyPreferences(getDefaultBlockingRules(), options);
 
-        return new FirefoxDriver(options);
-    }
-
-    private WebDriver createEdgeDriver(boolean headless, String userDataDir, String executablePath) {
-        if (executablePath == null) {
-            WebDriverManager.edgedriver().setup();
-        } else {
-            System.setProperty("webdriver.edge.driver", executablePath);
+        CachingProxy proxy = cachingProxy;
+        if (proxy != null) {
+            // Manual proxy for http: only; https: and other schemes go direct
+            options.addPreference("network.proxy.type", 1);
+            options.addPreference("network.proxy.http", "127.0.0.1");
+            options.addPreference("network.proxy.http_port", proxy.getPort());
+            options.addPreference("network.proxy.no_proxies_on", "");
+            options.addPreference("network.proxy.allow_hijacking_localhost", true);
         }
 
+        return createSharedServiceDriver("firefox", options);
+    }
+
+    private WebDriver createEdgeDriver(boolean headless, String userDataDir) {
         EdgeOptions options = new EdgeOptions();
         if (headless) {
             options.addArguments("--headless=new");
@@ -151,8 +884,155 @@ public class BrowserManager {
         // Add common options
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
+        LaunchProfile.apply(config.getLaunchProfile(), options);
+        addChromiumProxy(options);
 
-        return new EdgeDriver(options);
+        return createSharedServiceDriver("edge", options);
+    }
+
+    /**
+     * Route http: requests of a Chrome or Edge browser through the caching proxy, if enabled.
+     */
+    private void addChromiumProxy(ChromiumOptions<?> options) {
+        CachingProxy proxy = cachingProxy;
+        if (proxy != null) {
+            // Loopback hosts bypass proxies unless removed from the bypass list
+            options.addArguments("--proxy-server=http=127.0.0.1:" + proxy.getPort());
+            options.addArguments("--proxy-bypass-list=<-loopback>");
+        }
+    }
+
+    /**
+     * Start the caching proxy, or return null if it is disabled or failed to start.
+     */
+    private static CachingProxy startCachingProxy(ServerConfig config) {
+        if (config.getHttpCacheDir() == null) {
+            return null;
+        }
+        try {
+            CachingProxy proxy = new CachingProxy(new HttpCache(Paths.get(config.getHttpCacheDir()), config.getHttpCacheMaxBytes()));
+            proxy.start();
+            return proxy;
+        } catch (Exception e) {
+            logger.warn("Could not start the HTTP cache proxy, browsers will connect directly: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Get the shared HTTP cache, or null if it is not in use.
+     */
+    public HttpCache getHttpCache() {
+        return cachingProxy != null ? cachingProxy.getCache() : null;
+    }
+
+    /**
+     * Create a session on the browser's shared driver service. The session is a
+     * RemoteWebDriver, augmented so DevTools and BiDi are available as with the
+     * local driver classes, and quitting it leaves the service running.
+     */
+    private WebDriver createSharedServiceDriver(String browser, AbstractDriverOptions<?> options) {
+        SharedDriverService service = driverServices.computeIfAbsent(browser, this::newDriverService);
+        URL url = getServiceUrl(browser, service);
+
+        // Let the driver time out page loads itself, and give up on calls that outlast that,
+        // so a hung browser cannot block a tool call indefinitely
+        Duration timeout = Duration.ofSeconds(config.getCommandTimeoutSeconds());
+        options.setPageLoadTimeout(timeout);
+        try {
+            return createRemoteSession(url, timeout, options);
+        } catch (SessionNotCreatedException e) {
+            // A cached driver can outlive a browser update the manifest did not notice; resolve it once more.
+            // Other failures, such as a browser that does not start, are not helped by another driver
+            if (config.getExecutablePath() != null || !isDriverVersionMismatch(e)) {
+                throw e;
+            }
+            SharedDriverService replacement = replaceDriverService(browser, service);
+            if (replacement == null) {
+                throw e;
+            }
+            logger.warn("Could not create a {} session with driver {}, retrying on a newly resolved driver: {}",
+                    browser, service.getDriverPath(), e.getMessage());
+            return createRemoteSession(getServiceUrl(browser, replacement), timeout, options);
+        }
+    }
+
+    private SharedDriverService newDriverService(String browser) {
+        return new SharedDriverService(browser, () -> config.getExecutablePath() != null
+                ? config.getExecutablePath()
+                : driverResolver.resolve(browser));
+    }
+
+    private static URL getServiceUrl(String browser, SharedDriverService service) {
+        try {
+            return service.getUrl();
+        } catch (IOException e) {
+            throw new WebDriverException("Could not start " + browser + " driver service", e);
+        }
+    }
+
+    /**
+     * Check whether chromedriver or msedgedriver refused the session because the browser
+     * is a different major version than the driver supports.
+     */
+    private static boolean isDriverVersionMismatch(SessionNotCreatedException e) {
+        String message = e.getMessage();
+        return message != null
+                && (message.contains("only supports Chrome version") || message.contains("only supports Microsoft Edge version"));
+    }
+
+    /**
+     * Put a service with a newly resolved driver in place of one whose cached driver does
+     * not match the browser. The stale service keeps running for the sessions, pooled
+     * browsers and context host created on it, and is closed on shutdown.
+     *
+     * @return the service to retry on, or null if the driver cannot be resolved again
+     */
+    private SharedDriverService replaceDriverService(String browser, SharedDriverService stale) {
+        synchronized (driverServices) {
+            SharedDriverService current = driverServices.get(browser);
+            if (current != stale) {
+                // Another launch already replaced it, or the manager is shutting down
+                return current;
+            }
+            String cached = stale.getDriverPath();
+            if (cached == null || !driverResolver.invalidate(browser, cached)) {
+                return null;
+            }
+            SharedDriverService replacement = newDriverService(browser);
+            driverServices.put(browser, replacement);
+            retiredServices.add(stale);
+            return replacement;
+        }
+    }
+
+    /**
+     * Find the driver service a session was created on, or null for Safari.
+     */
+    private SharedDriverService findDriverService(WebDriver created) {
+        if (!(created instanceof RemoteWebDriver)
+                || !(((RemoteWebDriver) created).getCommandExecutor() instanceof HttpCommandExecutor)) {
+            return null;
+        }
+        URL address = ((HttpCommandExecutor) ((RemoteWebDriver) created).getCommandExecutor()).getAddressOfRemoteServer();
+        for (SharedDriverService service : driverServices.values()) {
+            if (service.serves(address)) {
+                return service;
+            }
+        }
+        for (SharedDriverService service : retiredServices) {
+            if (service.serves(address)) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    private static WebDriver createRemoteSession(URL url, Duration timeout, AbstractDriverOptions<?> options) {
+        ClientConfig clientConfig = ClientConfig.defaultConfig()
+                .baseUrl(url)
+                .readTimeout(timeout.plusSeconds(10));
+        return new Augmenter().augment(new RemoteWebDriver(new HttpCommandExecutor(clientConfig), options));
     }
 
     private WebDriver createSafariDriver(String executablePath) {
@@ -162,21 +1042,28 @@ public class BrowserManager {
 
         SafariOptions options = new SafariOptions();
         // Safari doesn't support headless mode or user data directory
+        LaunchProfile.applyPageLoadStrategy(config.getLaunchProfile(), options);
 
         return new SafariDriver(options);
     }
 
     private File getDefaultUserDataDir(String browser) {
+        return new File(getCacheDir(), "selenium-mcp-" + browser + "-profile");
+    }
+
+    /**
+     * Get the per-user cache directory holding default profiles and the driver manifest.
+     */
+    private static File getCacheDir() {
         String os = System.getProperty("os.name").toLowerCase();
         String userHome = System.getProperty("user.home");
-        String dirName = "selenium-mcp-" + browser + "-profile";
 
         if (os.contains("win")) {
-            return new File(userHome + "\\AppData\\Local\\selenium-mcp\\" + dirName);
+            return new File(userHome + "\\AppData\\Local\\selenium-mcp");
         } else if (os.contains("mac")) {
-            return new File(userHome + "/Library/Caches/selenium-mcp/" + dirName);
+            return new File(userHome + "/Library/Caches/selenium-mcp");
         } else {
-            return new File(userHome + "/.cache/selenium-mcp/" + dirName);
+            return new File(userHome + "/.cache/selenium-mcp");
         }
     }
 
@@ -204,6 +1091,7 @@ public class BrowserManager {
 
         driver.switchTo().window(openTabs.get(index));
         currentTabIndex = index;
+        followCurrentTab();
     }
 
     /**
@@ -213,15 +1101,17 @@ public class BrowserManager {
         // Selenium doesn't have a direct way to open a new tab
         // We'll use JavaScript to open a new window and then switch to it
         String currentHandle = driver.getWindowHandle();
+        Set<String> existingHandles = driver.getWindowHandles();
         String script = "window.open(arguments[0], '_blank');";
         ((JavascriptExecutor) driver).executeScript(script, url != null ? url : "about:blank");
 
-        // Find the new window handle
+        // Find the new window handle; windows of other browser contexts are not ours
         for (String handle : driver.getWindowHandles()) {
-            if (!openTabs.contains(handle)) {
+            if (!existingHandles.contains(handle)) {
                 openTabs.add(handle);
                 driver.switchTo().window(handle);
                 currentTabIndex = openTabs.size() - 1;
+                followCurrentTab();
                 return;
             }
         }
@@ -247,18 +1137,41 @@ public class BrowserManager {
             driver.close();
 
             // Remove it from our list
-            openTabs.remove(index);
+            String closedHandle = openTabs.remove(index);
+            tabUrls.remove(closedHandle);
+            if (networkCapture != null) {
+                networkCapture.discardTab(closedHandle);
+            }
+            consoleCapture.discardTab(closedHandle);
 
             // Switch to another tab if there are any left
             if (!openTabs.isEmpty()) {
                 int newIndex = Math.min(index, openTabs.size() - 1);
                 driver.switchTo().window(openTabs.get(newIndex));
                 currentTabIndex = newIndex;
+                followCurrentTab();
             } else {
-                // No tabs left, create a new one
-                driver = createDriver();
-                openTabs.add(driver.getWindowHandle());
+                // No tabs left, start a new session
+                if (driver == contextHost) {
+                    // The browser lives on, so drop listeners held on its DevTools connection
+                    if (cdpSession != null) {
+                        cdpSession.close();
+                    }
+                    disposeBrowserContext();
+                } else {
+                    // Closing the last window ended the browser, so its profile clone is free
+                    deleteSessionProfile();
+                }
+                cdpSession = null;
+                closeTabSessions();
+                networkCapture = null;
+                consoleCapture = null;
+                resourceBlocker = null;
+                screencast = null;
+                driver = null;
                 currentTabIndex = 0;
+                startSession();
+                startCapture();
             }
         } else {
             // Save current tab
@@ -271,7 +1184,12 @@ public class BrowserManager {
             driver.close();
 
             // Remove it from our list
-            openTabs.remove(index);
+            String closedHandle = openTabs.remove(index);
+            tabUrls.remove(closedHandle);
+            if (networkCapture != null) {
+                networkCapture.discardTab(closedHandle);
+            }
+            consoleCapture.discardTab(closedHandle);
 
             // Update current tab index if necessary
             if (index < currentTabIndex) {
@@ -284,19 +1202,108 @@ public class BrowserManager {
     }
 
     /**
-     * Close all browser instances.
+     * Close the browser session. With browser contexts, only the session's
+     * context is disposed and the browser is kept for the next session.
      */
     public synchronized void close() {
+        stopCapture();
+        if (driver != null && driver == contextHost) {
+            disposeBrowserContext();
+            driver = null;
+            openTabs.clear();
+            tabUrls.clear();
+            currentTabIndex = 0;
+        } else {
+            quitDriver();
+        }
+    }
+
+    private void quitDriver() {
         if (driver != null) {
+            DriverQuitEvent event = new DriverQuitEvent();
+            event.begin();
             try {
                 driver.quit();
             } catch (Exception e) {
                 logger.error("Error closing WebDriver", e);
             } finally {
-                driver = null;
-                openTabs.clear();
-                currentTabIndex = 0;
+                event.end();
+                if (event.shouldCommit()) {
+                    event.browser = config.getBrowserName();
+                    event.session = sessionId;
+                    event.commit();
+                }
+                forgetDriver();
             }
         }
     }
+
+    /**
+     * Stop the screencast and the capture attached to the session.
+     */
+    private void stopCapture() {
+        if (screencast != null) {
+            screencast.stop();
+            screencast = null;
+        }
+        if (cdpSession != null) {
+            cdpSession.close();
+            cdpSession = null;
+        }
+        closeTabSessions();
+        networkCapture = null;
+        resourceBlocker = null;
+        if (consoleCapture != null) {
+            consoleCapture.close();
+            consoleCapture = null;
+        }
+    }
+
+    private void closeTabSessions() {
+        if (tabSessions != null) {
+            tabSessions.close();
+            tabSessions = null;
+        }
+    }
+
+    /**
+     * Drop the state of a session whose browser has quit or is being abandoned.
+     */
+    private void forgetDriver() {
+        sessionId = null;
+        browserPid = 0;
+        driver = null;
+        openTabs.clear();
+        tabUrls.clear();
+        currentTabIndex = 0;
+        deleteSessionProfile();
+    }
+
+    /**
+     * Close the browser and stop the shared driver services, when the server exits.
+     */
+    public synchronized void shutdown() {
+        if (healthMonitor != null) {
+            healthMonitor.shutdownNow();
+        }
+        close();
+        if (contextHost != null) {
+            quitContextHost();
+        }
+        if (browserPool != null) {
+            browserPool.close();
+            browserPool = null;
+        }
+        for (SharedDriverService service : driverServices.values()) {
+            service.close();
+        }
+        driverServices.clear();
+        for (SharedDriverService service : retiredServices) {
+            service.close();
+        }
+        retiredServices.clear();
+        if (cachingProxy != null) {
+            cachingProxy.stop();
+        }
+    }
 }
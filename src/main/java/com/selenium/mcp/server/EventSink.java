@@ -0,0 +1,25 @@
+package com.selenium.mcp.server;
+
+/**
+ * Destination for unsolicited server events such as screencast frames.
+ */
+public interface EventSink {
+    /**
+     * Offer an event to the client. Implementations may drop the event when
+     * the client is not connected or has not consumed earlier events yet.
+     *
+     * @return true if the event was accepted for delivery
+     */
+    boolean offerEvent(String event, String data);
+
+    /**
+     * Send an event that must not be dropped, such as part of a tool result.
+     * Implementations wait until earlier writes are delivered, so a producer
+     * sending a series of events never holds more than one of them.
+     *
+     * @return false if the event could not be delivered
+     */
+    default boolean sendEvent(String event, String data) {
+        return offerEvent(event, data);
+    }
+}
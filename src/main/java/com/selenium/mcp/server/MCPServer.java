@@ -4,11 +4,21 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.selenium.mcp.server.jfr.ToolCallEvent;
+import com.selenium.mcp.server.recording.TrafficRecorder;
 import com.selenium.mcp.server.tools.ToolRegistry;
+import com.selenium.mcp.server.tracing.Span;
+import com.selenium.mcp.server.tracing.Trace;
+import com.selenium.mcp.server.tracing.TraceExporter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -20,11 +30,29 @@ public abstract class MCPServer {
     protected final ServerConfig config;
     protected final ToolRegistry toolRegistry;
     protected final BrowserManager browserManager;
+    private final TraceExporter traceExporter;
+    private final TrafficRecorder trafficRecorder;
+    private final Map<String, String> traceResource = new LinkedHashMap<>();
 
     public MCPServer(ServerConfig config) {
         this.config = config;
         this.toolRegistry = new ToolRegistry();
         this.browserManager = new BrowserManager(config);
+        this.browserManager.setEventSink(new EventSink() {
+            @Override
+            public boolean offerEvent(String event, String data) {
+                return MCPServer.this.offerEvent(event, data);
+            }
+
+            @Override
+            public boolean sendEvent(String event, String data) {
+                return MCPServer.this.sendEvent(event, data);
+            }
+        });
+        this.traceExporter = config.getTraceFile() != null ? new TraceExporter(Paths.get(config.getTraceFile())) : null;
+        this.trafficRecorder = config.getRecordTrafficFile() != null ? new TrafficRecorder(Paths.get(config.getRecordTrafficFile())) : null;
+        traceResource.put("service.name", "selenium-mcp");
+        traceResource.put("browser.name", config.getBrowserName());
         registerTools();
     }
 
@@ -37,6 +65,9 @@ public abstract class MCPServer {
      * Handle an incoming message.
      */
     protected void handleMessage(String message) {
+        if (trafficRecorder != null) {
+            trafficRecorder.recordInbound(message);
+        }
         try {
             JsonNode messageNode = objectMapper.readTree(message);
             String type = messageNode.get("type").asText();
@@ -77,32 +108,53 @@ public abstract class MCPServer {
         // Add tools
         response.set("tools", toolRegistry.getToolsAsJson(objectMapper));
         
-        sendMessage(response.toString());
+        respond(response.toString());
     }
 
     /**
      * Handle a tool call message.
+     * The call is traced; set "trace": true on the message to get the phase
+     * timings back in the response.
      */
     private void handleToolCall(JsonNode messageNode) throws Exception {
         String id = messageNode.get("id").asText();
         String toolName = messageNode.get("name").asText();
         JsonNode params = messageNode.get("params");
+        boolean includeTrace = messageNode.has("trace") && messageNode.get("trace").asBoolean();
         
         logger.info("Tool call: {} with params: {}", toolName, params);
         
+        ToolCallEvent event = new ToolCallEvent();
+        event.begin();
+        String sent = null;
+        Trace trace = Trace.begin(toolName);
+        trace.getRoot().setAttribute("mcp.tool", toolName).setAttribute("mcp.call_id", id);
+        browserManager.toolCallStarted();
         try {
             // Execute the tool
             JsonNode result = toolRegistry.executeTool(toolName, params, browserManager);
             
             // Create response
-            ObjectNode response = objectMapper.createObjectNode();
-            response.put("type", "toolCallResult");
-            response.put("id", id);
-            response.set("result", result);
+            String serialized;
+            try (Span span = Trace.span("serialize")) {
+                ObjectNode response = objectMapper.createObjectNode();
+                response.put("type", "toolCallResult");
+                response.put("id", id);
+                response.set("result", result);
+                if (includeTrace) {
+                    response.set("trace", trace.toJson(objectMapper));
+                }
+                serialized = response.toString();
+                span.setAttribute("chars", serialized.length());
+            }
             
-            sendMessage(response.toString());
+            toolRegistry.getMetrics().recordPayload(toolName, serialized.length());
+            Trace.run("transmit", () -> respond(serialized));
+            sent = serialized;
+            event.success = true;
         } catch (Exception e) {
             logger.error("Error executing tool: {}", toolName, e);
+            trace.getRoot().setAttribute("error", e.getMessage());
             
             // Create error response
             ObjectNode response = objectMapper.createObjectNode();
@@ -111,16 +163,79 @@ public abstract class MCPServer {
             
             ObjectNode error = response.putObject("error");
             error.put("message", e.getMessage());
+            if (includeTrace) {
+                response.set("trace", trace.toJson(objectMapper));
+            }
             
-            sendMessage(response.toString());
+            sent = response.toString();
+            respond(sent);
+        } finally {
+            trace.end();
+            if (traceExporter != null) {
+                traceExporter.export(trace, traceResource);
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.tool = toolName;
+                event.callId = id;
+                event.session = browserManager.getSessionId();
+                event.bytesOut = sent != null ? sent.getBytes(StandardCharsets.UTF_8).length : 0;
+                event.commit();
+            }
+            // The response is out, so recycling the browser here does not delay it
+            browserManager.toolCallFinished();
         }
     }
 
+    /**
+     * Send a response to the client, recording it if traffic recording is enabled.
+     */
+    private void respond(String message) {
+        if (trafficRecorder != null) {
+            trafficRecorder.recordOutbound(message);
+        }
+        sendMessage(message);
+    }
+
     /**
      * Send a message to the client.
      */
     protected abstract void sendMessage(String message);
 
+    /**
+     * Offer an unsolicited event to the client. Transports that cannot stream
+     * events drop them.
+     */
+    protected boolean offerEvent(String event, String data) {
+        return false;
+    }
+
+    /**
+     * Send an event as a regular message, {@code {"type":"event","event":...,"data":...}},
+     * and wait until the transport has written it.
+     *
+     * @param data JSON value of the event
+     */
+    protected boolean sendEvent(String event, String data) {
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("type", "event");
+        message.put("event", event);
+        message.putRawValue("data", new RawValue(data));
+        respond(message.toString());
+        return awaitDelivery();
+    }
+
+    /**
+     * Wait until messages sent so far are written. Transports that write
+     * synchronously return immediately.
+     *
+     * @return false if the client went away before they were written
+     */
+    protected boolean awaitDelivery() {
+        return true;
+    }
+
     /**
      * Send an error message to the client.
      */
@@ -131,7 +246,7 @@ public abstract class MCPServer {
             error.put("id", UUID.randomUUID().toString());
             error.put("message", errorMessage);
             
-            sendMessage(error.toString());
+            respond(error.toString());
         } catch (Exception e) {
             logger.error("Error sending error message", e);
         }
@@ -1,9 +1,15 @@
 package com.selenium.mcp.server;
 
+import com.selenium.mcp.server.devtools.BlockingRules;
+import com.selenium.mcp.server.driver.LaunchProfile;
+import com.selenium.mcp.server.tools.browser.PageSnapshot;
 import org.apache.commons.cli.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Main entry point for the Selenium MCP server.
  */
@@ -96,6 +102,88 @@ public class Main {
                 .longOpt("isolated")
                 .desc("Keep browser profile in memory, do not save to disk")
                 .build());
+        options.addOption(Option.builder()
+                .longOpt("driver-manifest")
+                .hasArg()
+                .argName("path")
+                .desc("File caching resolved driver binaries (default: drivers.json in the selenium-mcp cache directory)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("profile-template")
+                .hasArg()
+                .argName("dir")
+                .desc("Prepare a browser profile in this directory once and give each session a copy, deleted on close")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("profile-clone-dir")
+                .hasArg()
+                .argName("dir")
+                .desc("Directory for per-session profile copies, e.g. /dev/shm (default: system temp directory)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("profile-warmup")
+                .hasArg()
+                .argName("urls")
+                .desc("Comma-separated URLs to load while preparing the profile template")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("command-timeout")
+                .hasArg()
+                .argName("seconds")
+                .desc("Page load and script timeout; driver calls are abandoned shortly after (default: 60)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("health-check-interval")
+                .hasArg()
+                .argName("seconds")
+                .desc("How often an idle browser session is checked and replaced if it stopped responding, 0 to disable (default: 10)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("pool-size")
+                .hasArg()
+                .argName("count")
+                .desc("Launch this many browsers in parallel at startup and keep them ready for new sessions (Chrome, Edge)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("pool-min")
+                .hasArg()
+                .argName("count")
+                .desc("Pooled browsers that must be running before the server reports ready (default: pool size)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("pool-warmup-url")
+                .hasArg()
+                .argName("url")
+                .desc("URL each pooled browser loads once after launch")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("recycle-navigations")
+                .hasArg()
+                .argName("count")
+                .desc("Replace the browser between tool calls after this many navigations")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("recycle-age")
+                .hasArg()
+                .argName("minutes")
+                .desc("Replace the browser between tool calls once it has run this long")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("recycle-memory")
+                .hasArg()
+                .argName("MB")
+                .desc("Replace the browser between tool calls once its processes use this much resident memory (Linux, macOS)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("browser-contexts")
+                .desc("Run each session in a new browser context of one shared browser (Chrome and Edge only)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("launch-profile")
+                .hasArg()
+                .argName("profile")
+                .desc("Browser launch profile: fast, balanced or faithful (default: faithful)")
+                .build());
 
         // Viewport options
         options.addOption(Option.builder()
@@ -113,6 +201,34 @@ public class Main {
                 .desc("Comma-separated list of capabilities to enable (tabs,pdf,history,wait,files,install)")
                 .build());
 
+        // Resource blocking
+        options.addOption(Option.builder()
+                .longOpt("block-resources")
+                .hasArg()
+                .argName("types")
+                .desc("Comma-separated resource types to block (image,media,font,stylesheet,script,xhr,fetch,websocket,other)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("block-urls")
+                .hasArg()
+                .argName("patterns")
+                .desc("Comma-separated URL patterns to block, with * as wildcard, or \"trackers\" for common analytics and ad hosts")
+                .build());
+
+        // HTTP cache
+        options.addOption(Option.builder()
+                .longOpt("http-cache")
+                .hasArg()
+                .argName("dir")
+                .desc("Route browsers' http: requests through a local caching proxy storing responses in this directory")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("http-cache-size")
+                .hasArg()
+                .argName("MB")
+                .desc("Byte budget of the HTTP cache in megabytes (default: 512)")
+                .build());
+
         // Output options
         options.addOption(Option.builder()
                 .longOpt("output-dir")
@@ -121,6 +237,48 @@ public class Main {
                 .desc("Path to directory for output files")
                 .build());
 
+        // Capture options
+        options.addOption(Option.builder()
+                .longOpt("network-buffer-size")
+                .hasArg()
+                .argName("count")
+                .desc("Number of network requests kept per tab (default: 1000)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("console-buffer-size")
+                .hasArg()
+                .argName("count")
+                .desc("Number of console messages kept per tab (default: 1000)")
+                .build());
+
+        // Snapshot options
+        options.addOption(Option.builder()
+                .longOpt("snapshot-profile")
+                .hasArg()
+                .argName("profile")
+                .desc("Default browser_snapshot profile: full, interactive or text (default: full)")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("snapshot-max-nodes")
+                .hasArg()
+                .argName("count")
+                .desc("Nodes per browser_snapshot response before it is paged, 0 for no limit (default: 20000)")
+                .build());
+
+        // Tracing options
+        options.addOption(Option.builder()
+                .longOpt("trace-file")
+                .hasArg()
+                .argName("path")
+                .desc("Append tool call phase traces to this file as OpenTelemetry JSON")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("record-traffic")
+                .hasArg()
+                .argName("path")
+                .desc("Append every inbound and outbound MCP message to this JSONL file")
+                .build());
+
         return options;
     }
 
@@ -133,6 +291,76 @@ public class Main {
         config.setExecutablePath(cmd.getOptionValue("executable-path"));
         config.setUserDataDir(cmd.getOptionValue("user-data-dir"));
         config.setIsolated(cmd.hasOption("isolated"));
+        config.setDriverManifest(cmd.getOptionValue("driver-manifest"));
+        config.setProfileTemplate(cmd.getOptionValue("profile-template"));
+        config.setProfileCloneDir(cmd.getOptionValue("profile-clone-dir"));
+        config.setProfileWarmupUrls(splitList(cmd.getOptionValue("profile-warmup")));
+        config.setBrowserContexts(cmd.hasOption("browser-contexts"));
+        String commandTimeout = cmd.getOptionValue("command-timeout");
+        if (commandTimeout != null) {
+            try {
+                config.setCommandTimeoutSeconds(Integer.parseInt(commandTimeout.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid command timeout: {}", commandTimeout);
+            }
+        }
+        String healthCheckInterval = cmd.getOptionValue("health-check-interval");
+        if (healthCheckInterval != null) {
+            try {
+                config.setHealthCheckIntervalSeconds(Integer.parseInt(healthCheckInterval.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid health check interval: {}", healthCheckInterval);
+            }
+        }
+        String poolSize = cmd.getOptionValue("pool-size");
+        if (poolSize != null) {
+            try {
+                config.setPoolSize(Integer.parseInt(poolSize.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid pool size: {}", poolSize);
+            }
+        }
+        String poolMinimum = cmd.getOptionValue("pool-min");
+        if (poolMinimum != null) {
+            try {
+                config.setPoolMinimum(Integer.parseInt(poolMinimum.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid pool minimum: {}", poolMinimum);
+            }
+        }
+        config.setPoolWarmupUrl(cmd.getOptionValue("pool-warmup-url"));
+        String recycleNavigations = cmd.getOptionValue("recycle-navigations");
+        if (recycleNavigations != null) {
+            try {
+                config.setRecycleNavigations(Integer.parseInt(recycleNavigations.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid recycle navigation count: {}", recycleNavigations);
+            }
+        }
+        String recycleAge = cmd.getOptionValue("recycle-age");
+        if (recycleAge != null) {
+            try {
+                config.setRecycleAgeMinutes(Integer.parseInt(recycleAge.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid recycle age: {}", recycleAge);
+            }
+        }
+        String recycleMemory = cmd.getOptionValue("recycle-memory");
+        if (recycleMemory != null) {
+            try {
+                config.setRecycleMemoryMb(Integer.parseInt(recycleMemory.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid recycle memory limit: {}", recycleMemory);
+            }
+        }
+        String launchProfile = cmd.getOptionValue("launch-profile");
+        if (launchProfile != null) {
+            if (LaunchProfile.PROFILES.contains(launchProfile.trim().toLowerCase())) {
+                config.setLaunchProfile(launchProfile.trim().toLowerCase());
+            } else {
+                logger.warn("Invalid launch profile: {}", launchProfile);
+            }
+        }
 
         // Viewport configuration
         String viewportSize = cmd.getOptionValue("viewport-size");
@@ -165,9 +393,83 @@ public class Main {
             config.addCapability("install");
         }
 
+        // Resource blocking
+        List<String> blockedTypes = splitList(cmd.getOptionValue("block-resources"));
+        List<String> blockedUrls = splitList(cmd.getOptionValue("block-urls"));
+        try {
+            new BlockingRules(blockedTypes, blockedUrls);
+            config.setBlockedResourceTypes(blockedTypes);
+            config.setBlockedUrlPatterns(blockedUrls);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid resource blocking rules: {}", e.getMessage());
+        }
+
+        // HTTP cache
+        config.setHttpCacheDir(cmd.getOptionValue("http-cache"));
+        String httpCacheSize = cmd.getOptionValue("http-cache-size");
+        if (httpCacheSize != null) {
+            try {
+                config.setHttpCacheMaxBytes(Long.parseLong(httpCacheSize.trim()) * 1024 * 1024);
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid HTTP cache size: {}", httpCacheSize);
+            }
+        }
+
         // Output directory
         config.setOutputDir(cmd.getOptionValue("output-dir"));
 
+        // Capture configuration
+        String networkBufferSize = cmd.getOptionValue("network-buffer-size");
+        if (networkBufferSize != null) {
+            try {
+                config.setNetworkBufferSize(Integer.parseInt(networkBufferSize.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid network buffer size: {}", networkBufferSize);
+            }
+        }
+        String consoleBufferSize = cmd.getOptionValue("console-buffer-size");
+        if (consoleBufferSize != null) {
+            try {
+                config.setConsoleBufferSize(Integer.parseInt(consoleBufferSize.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid console buffer size: {}", consoleBufferSize);
+            }
+        }
+
+        // Snapshot configuration
+        String snapshotProfile = cmd.getOptionValue("snapshot-profile");
+        if (snapshotProfile != null) {
+            if (PageSnapshot.PROFILES.contains(snapshotProfile.trim().toLowerCase())) {
+                config.setSnapshotProfile(snapshotProfile.trim().toLowerCase());
+            } else {
+                logger.warn("Invalid snapshot profile: {}", snapshotProfile);
+            }
+        }
+        String snapshotMaxNodes = cmd.getOptionValue("snapshot-max-nodes");
+        if (snapshotMaxNodes != null) {
+            try {
+                config.setSnapshotMaxNodes(Integer.parseInt(snapshotMaxNodes.trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid snapshot max nodes: {}", snapshotMaxNodes);
+            }
+        }
+
+        // Tracing configuration
+        config.setTraceFile(cmd.getOptionValue("trace-file"));
+        config.setRecordTrafficFile(cmd.getOptionValue("record-traffic"));
+
         return config;
     }
+
+    private static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.split(",")) {
+                if (!item.trim().isEmpty()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        return items;
+    }
 }
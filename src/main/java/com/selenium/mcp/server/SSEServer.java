@@ -1,17 +1,27 @@
 package com.selenium.mcp.server;
 
+import com.selenium.mcp.server.jfr.TransportSendEvent;
+import com.selenium.mcp.server.proxy.HttpCache;
 import io.undertow.Undertow;
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
+import io.undertow.util.SameThreadExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -19,10 +29,15 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class SSEServer extends MCPServer {
     private static final Logger logger = LoggerFactory.getLogger(SSEServer.class);
+    private static final long DELIVERY_TIMEOUT_MS = 30_000;
     private final String host;
     private final int port;
     private final Queue<String> messageQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<String> outbound = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean connected = new AtomicBoolean(false);
+    private final AtomicBoolean writing = new AtomicBoolean(false);
+    // Completed with whether the stream is still open once all queued messages are written
+    private final Queue<CompletableFuture<Boolean>> deliveryWaiters = new ConcurrentLinkedQueue<>();
     private Undertow server;
     private HttpServerExchange exchange;
 
@@ -36,6 +51,9 @@ public class SSEServer extends MCPServer {
     public void start() throws Exception {
         logger.info("Starting Selenium MCP server with SSE transport on {}:{}", host, port);
 
+        // Launch pooled browsers before accepting connections, which are sent ready
+        browserManager.startPool();
+
         // Create Undertow server
         server = Undertow.builder()
                 .addHttpListener(port, host)
@@ -55,7 +73,7 @@ public class SSEServer extends MCPServer {
         } finally {
             // Clean up resources
             try {
-                browserManager.close();
+                browserManager.shutdown();
             } catch (Exception e) {
                 logger.error("Error closing browser manager", e);
             }
@@ -68,6 +86,8 @@ public class SSEServer extends MCPServer {
         return exchange -> {
             if (exchange.getRequestPath().equals("/sse")) {
                 handleSSE(exchange);
+            } else if (exchange.getRequestPath().equals("/metrics")) {
+                handleMetrics(exchange);
             } else if (exchange.getRequestPath().equals("/")) {
                 handleRoot(exchange);
             } else {
@@ -86,7 +106,9 @@ public class SSEServer extends MCPServer {
             exchange.getResponseHeaders().put(new HttpString("Access-Control-Allow-Origin"), "*");
 
             exchange.setPersistent(true);
-            exchange.dispatch(exchange.getIoThread());
+            // Keep the stream open after the handler returns
+            exchange.dispatch(SameThreadExecutor.INSTANCE, () -> {
+            });
 
             // Set up SSE connection
             this.exchange = exchange;
@@ -100,6 +122,9 @@ public class SSEServer extends MCPServer {
                 logger.info("SSE connection closed");
                 connected.set(false);
                 this.exchange = null;
+                outbound.clear();
+                writing.set(false);
+                completeDelivery(false);
                 nextListener.proceed();
             });
 
@@ -109,8 +134,9 @@ public class SSEServer extends MCPServer {
                 sendSSEMessage(exchange, message);
             }
         } else if (exchange.getRequestMethod().toString().equals("POST")) {
-            // Handle POST request for sending messages
-            exchange.getRequestReceiver().receiveFullString((ex, message) -> {
+            // Handle POST request for sending messages. The body arrives on an IO thread,
+            // so tool calls, which block on the browser, run on a worker thread.
+            exchange.getRequestReceiver().receiveFullString((ex, message) -> ex.dispatch(() -> {
                 if (message != null && !message.trim().isEmpty()) {
                     logger.debug("Received message: {}", message);
                     try {
@@ -119,8 +145,8 @@ public class SSEServer extends MCPServer {
                         logger.error("Error handling message", e);
                     }
                 }
-                exchange.endExchange();
-            });
+                ex.endExchange();
+            }));
         } else {
             // Method not allowed
             exchange.setStatusCode(405);
@@ -128,6 +154,30 @@ public class SSEServer extends MCPServer {
         }
     }
 
+    private void handleMetrics(HttpServerExchange exchange) {
+        StringBuilder metrics = new StringBuilder();
+        toolRegistry.getMetrics().writePrometheus(metrics);
+        browserManager.getCommandStats().writePrometheus(metrics);
+        metrics.append("# HELP mcp_browser_recoveries_total Browser sessions replaced after they stopped responding.\n");
+        metrics.append("# TYPE mcp_browser_recoveries_total counter\n");
+        metrics.append("mcp_browser_recoveries_total ").append(browserManager.getRecoveries()).append('\n');
+        metrics.append("# HELP mcp_browser_recycles_total Browsers replaced after reaching a recycling limit.\n");
+        metrics.append("# TYPE mcp_browser_recycles_total counter\n");
+        metrics.append("mcp_browser_recycles_total ").append(browserManager.getRecycles()).append('\n');
+        int poolIdle = browserManager.getPoolIdle();
+        if (poolIdle >= 0) {
+            metrics.append("# HELP mcp_browser_pool_idle Launched browsers waiting for a session.\n");
+            metrics.append("# TYPE mcp_browser_pool_idle gauge\n");
+            metrics.append("mcp_browser_pool_idle ").append(poolIdle).append('\n');
+        }
+        HttpCache httpCache = browserManager.getHttpCache();
+        if (httpCache != null) {
+            httpCache.writePrometheus(metrics);
+        }
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "text/plain; version=0.0.4; charset=utf-8");
+        exchange.getResponseSender().send(metrics.toString());
+    }
+
     private void handleRoot(HttpServerExchange exchange) {
         exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "text/html");
         exchange.getResponseSender().send(
@@ -148,13 +198,105 @@ public class SSEServer extends MCPServer {
         }
     }
 
+    @Override
+    protected boolean offerEvent(String event, String data) {
+        if (!connected.get() || exchange == null) {
+            return false;
+        }
+
+        // Drop the event if the client has not drained earlier writes yet
+        if (writing.get() || !outbound.isEmpty()) {
+            return false;
+        }
+
+        outbound.add("event: " + event + "\ndata: " + data + "\n\n");
+        drain(exchange);
+        return true;
+    }
+
+    @Override
+    protected boolean awaitDelivery() {
+        CompletableFuture<Boolean> delivered = new CompletableFuture<>();
+        deliveryWaiters.add(delivered);
+        try {
+            // Checked after registering, so a drain finishing in between still completes the future
+            if (!writing.get() && outbound.isEmpty()) {
+                return connected.get();
+            }
+            if (!connected.get()) {
+                return false;
+            }
+            return delivered.get(DELIVERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        } finally {
+            deliveryWaiters.remove(delivered);
+        }
+    }
+
+    private void completeDelivery(boolean delivered) {
+        CompletableFuture<Boolean> waiter;
+        while ((waiter = deliveryWaiters.poll()) != null) {
+            waiter.complete(delivered);
+        }
+    }
+
     private void sendSSEMessage(HttpServerExchange exchange, String message) {
+        logger.debug("Sending SSE message: {}", message);
+        TransportSendEvent event = new TransportSendEvent();
+        event.begin();
+        outbound.add("data: " + message + "\n\n");
+        drain(exchange);
+        event.end();
+        if (event.shouldCommit()) {
+            event.transport = "sse";
+            event.bytes = message.getBytes(StandardCharsets.UTF_8).length;
+            event.commit();
+        }
+    }
+
+    /**
+     * Write queued messages one at a time; Undertow's sender rejects overlapping writes.
+     */
+    private void drain(HttpServerExchange exchange) {
+        if (!writing.compareAndSet(false, true)) {
+            return;
+        }
+
+        String next = outbound.poll();
+        if (next == null) {
+            writing.set(false);
+            // A message may have been queued after poll but before the flag was cleared
+            if (!outbound.isEmpty()) {
+                drain(exchange);
+            } else {
+                completeDelivery(connected.get());
+            }
+            return;
+        }
+
         try {
-            logger.debug("Sending SSE message: {}", message);
-            String formattedMessage = "data: " + message + "\n\n";
-            exchange.getResponseSender().send(ByteBuffer.wrap(formattedMessage.getBytes()));
+            exchange.getResponseSender().send(ByteBuffer.wrap(next.getBytes(StandardCharsets.UTF_8)), new IoCallback() {
+                @Override
+                public void onComplete(HttpServerExchange ex, Sender sender) {
+                    writing.set(false);
+                    drain(ex);
+                }
+
+                @Override
+                public void onException(HttpServerExchange ex, Sender sender, IOException e) {
+                    logger.error("Error sending SSE message", e);
+                    writing.set(false);
+                    completeDelivery(false);
+                }
+            });
         } catch (Exception e) {
             logger.error("Error sending SSE message", e);
+            writing.set(false);
+            completeDelivery(false);
         }
     }
 }
@@ -1,6 +1,8 @@
 package com.selenium.mcp.server;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -13,6 +15,20 @@ public class ServerConfig {
     private String executablePath;
     private String userDataDir;
     private boolean isolated = false;
+    private String driverManifest;
+    private boolean browserContexts = false;
+    private String launchProfile = "faithful";
+    private String profileTemplate;
+    private String profileCloneDir;
+    private List<String> profileWarmupUrls = new ArrayList<>();
+    private int commandTimeoutSeconds = 60;
+    private int healthCheckIntervalSeconds = 10;
+    private int recycleNavigations;
+    private int recycleAgeMinutes;
+    private int recycleMemoryMb;
+    private int poolSize;
+    private int poolMinimum = -1;
+    private String poolWarmupUrl;
     
     // Viewport configuration
     private int viewportWidth = 1280;
@@ -24,6 +40,26 @@ public class ServerConfig {
     // Output configuration
     private String outputDir;
 
+    // Capture configuration
+    private int networkBufferSize = 1000;
+    private int consoleBufferSize = 1000;
+
+    // Resource blocking configuration
+    private List<String> blockedResourceTypes = new ArrayList<>();
+    private List<String> blockedUrlPatterns = new ArrayList<>();
+
+    // HTTP cache configuration
+    private String httpCacheDir;
+    private long httpCacheMaxBytes = 512L * 1024 * 1024;
+
+    // Snapshot configuration
+    private String snapshotProfile = "full";
+    private int snapshotMaxNodes = 20000;
+
+    // Tracing configuration
+    private String traceFile;
+    private String recordTrafficFile;
+
     public String getBrowserName() {
         return browserName;
     }
@@ -103,4 +139,196 @@ public class ServerConfig {
     public void setOutputDir(String outputDir) {
         this.outputDir = outputDir;
     }
+
+    public int getNetworkBufferSize() {
+        return networkBufferSize;
+    }
+
+    public void setNetworkBufferSize(int networkBufferSize) {
+        this.networkBufferSize = networkBufferSize;
+    }
+
+    public int getConsoleBufferSize() {
+        return consoleBufferSize;
+    }
+
+    public void setConsoleBufferSize(int consoleBufferSize) {
+        this.consoleBufferSize = consoleBufferSize;
+    }
+
+    public String getTraceFile() {
+        return traceFile;
+    }
+
+    public void setTraceFile(String traceFile) {
+        this.traceFile = traceFile;
+    }
+
+    public String getRecordTrafficFile() {
+        return recordTrafficFile;
+    }
+
+    public void setRecordTrafficFile(String recordTrafficFile) {
+        this.recordTrafficFile = recordTrafficFile;
+    }
+
+    public String getSnapshotProfile() {
+        return snapshotProfile;
+    }
+
+    public void setSnapshotProfile(String snapshotProfile) {
+        this.snapshotProfile = snapshotProfile;
+    }
+
+    public int getSnapshotMaxNodes() {
+        return snapshotMaxNodes;
+    }
+
+    public void setSnapshotMaxNodes(int snapshotMaxNodes) {
+        this.snapshotMaxNodes = snapshotMaxNodes;
+    }
+
+    public String getDriverManifest() {
+        return driverManifest;
+    }
+
+    public void setDriverManifest(String driverManifest) {
+        this.driverManifest = driverManifest;
+    }
+
+    public boolean isBrowserContexts() {
+        return browserContexts;
+    }
+
+    public void setBrowserContexts(boolean browserContexts) {
+        this.browserContexts = browserContexts;
+    }
+
+    public List<String> getBlockedResourceTypes() {
+        return blockedResourceTypes;
+    }
+
+    public void setBlockedResourceTypes(List<String> blockedResourceTypes) {
+        this.blockedResourceTypes = blockedResourceTypes;
+    }
+
+    public List<String> getBlockedUrlPatterns() {
+        return blockedUrlPatterns;
+    }
+
+    public void setBlockedUrlPatterns(List<String> blockedUrlPatterns) {
+        this.blockedUrlPatterns = blockedUrlPatterns;
+    }
+
+    public String getHttpCacheDir() {
+        return httpCacheDir;
+    }
+
+    public void setHttpCacheDir(String httpCacheDir) {
+        this.httpCacheDir = httpCacheDir;
+    }
+
+    public long getHttpCacheMaxBytes() {
+        return httpCacheMaxBytes;
+    }
+
+    public void setHttpCacheMaxBytes(long httpCacheMaxBytes) {
+        this.httpCacheMaxBytes = httpCacheMaxBytes;
+    }
+
+    public String getProfileTemplate() {
+        return profileTemplate;
+    }
+
+    public void setProfileTemplate(String profileTemplate) {
+        this.profileTemplate = profileTemplate;
+    }
+
+    public String getProfileCloneDir() {
+        return profileCloneDir;
+    }
+
+    public void setProfileCloneDir(String profileCloneDir) {
+        this.profileCloneDir = profileCloneDir;
+    }
+
+    public List<String> getProfileWarmupUrls() {
+        return profileWarmupUrls;
+    }
+
+    public void setProfileWarmupUrls(List<String> profileWarmupUrls) {
+        this.profileWarmupUrls = profileWarmupUrls;
+    }
+
+    public int getCommandTimeoutSeconds() {
+        return commandTimeoutSeconds;
+    }
+
+    public void setCommandTimeoutSeconds(int commandTimeoutSeconds) {
+        this.commandTimeoutSeconds = commandTimeoutSeconds;
+    }
+
+    public int getHealthCheckIntervalSeconds() {
+        return healthCheckIntervalSeconds;
+    }
+
+    public void setHealthCheckIntervalSeconds(int healthCheckIntervalSeconds) {
+        this.healthCheckIntervalSeconds = healthCheckIntervalSeconds;
+    }
+
+    public int getRecycleNavigations() {
+        return recycleNavigations;
+    }
+
+    public void setRecycleNavigations(int recycleNavigations) {
+        this.recycleNavigations = recycleNavigations;
+    }
+
+    public int getRecycleAgeMinutes() {
+        return recycleAgeMinutes;
+    }
+
+    public void setRecycleAgeMinutes(int recycleAgeMinutes) {
+        this.recycleAgeMinutes = recycleAgeMinutes;
+    }
+
+    public int getRecycleMemoryMb() {
+        return recycleMemoryMb;
+    }
+
+    public void setRecycleMemoryMb(int recycleMemoryMb) {
+        this.recycleMemoryMb = recycleMemoryMb;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getPoolMinimum() {
+        return poolMinimum;
+    }
+
+    public void setPoolMinimum(int poolMinimum) {
+        this.poolMinimum = poolMinimum;
+    }
+
+    public String getPoolWarmupUrl() {
+        return poolWarmupUrl;
+    }
+
+    public void setPoolWarmupUrl(String poolWarmupUrl) {
+        this.poolWarmupUrl = poolWarmupUrl;
+    }
+
+    public String getLaunchProfile() {
+        return launchProfile;
+    }
+
+    public void setLaunchProfile(String launchProfile) {
+        this.launchProfile = launchProfile;
+    }
 }
@@ -1,5 +1,6 @@
 package com.selenium.mcp.server;
 
+import com.selenium.mcp.server.jfr.TransportSendEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +25,9 @@ public class StdioServer extends MCPServer {
     public void start() throws Exception {
         logger.info("Starting Selenium MCP server with stdio transport");
         
+        // Launch pooled browsers before reporting ready
+        browserManager.startPool();
+
         // Send ready message
         sendMessage("{\"type\":\"ready\"}");
         
@@ -44,7 +48,7 @@ public class StdioServer extends MCPServer {
         } finally {
             // Clean up resources
             try {
-                browserManager.close();
+                browserManager.shutdown();
             } catch (Exception e) {
                 logger.error("Error closing browser manager", e);
             }
@@ -54,7 +58,15 @@ public class StdioServer extends MCPServer {
     @Override
     protected void sendMessage(String message) {
         logger.debug("Sending message: {}", message);
+        TransportSendEvent event = new TransportSendEvent();
+        event.begin();
         stdout.println(message);
         stdout.flush();
+        event.end();
+        if (event.shouldCommit()) {
+            event.transport = "stdio";
+            event.bytes = message.getBytes(StandardCharsets.UTF_8).length;
+            event.commit();
+        }
     }
 }
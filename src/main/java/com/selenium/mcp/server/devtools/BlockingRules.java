@@ -0,0 +1,124 @@
+package com.selenium.mcp.server.devtools;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Requests to block: whole resource types, and URLs matching wildcard patterns
+ * such as {@code *.woff2} or {@code *://ads.example.com/*}. The pattern
+ * {@code trackers} stands for a built-in list of common analytics and ad hosts.
+ */
+public class BlockingRules {
+    public static final String TRACKERS = "trackers";
+    public static final List<String> TRACKER_PATTERNS = List.of(
+            "*google-analytics.com/*",
+            "*googletagmanager.com/*",
+            "*doubleclick.net/*",
+            "*googlesyndication.com/*",
+            "*googleadservices.com/*",
+            "*connect.facebook.net/*",
+            "*hotjar.com/*",
+            "*segment.com/*",
+            "*mixpanel.com/*",
+            "*nr-data.net/*",
+            "*scorecardresearch.com/*",
+            "*criteo.com/*",
+            "*taboola.com/*",
+            "*outbrain.com/*");
+
+    /**
+     * Resource types that can be blocked, mapped to their CDP names.
+     * Documents are left out, since blocking them would break navigation.
+     */
+    private static final Map<String, String> CDP_TYPES = Map.of(
+            "image", "Image",
+            "media", "Media",
+            "font", "Font",
+            "stylesheet", "Stylesheet",
+            "script", "Script",
+            "xhr", "XHR",
+            "fetch", "Fetch",
+            "websocket", "WebSocket",
+            "other", "Other");
+    public static final List<String> RESOURCE_TYPES = List.of(
+            "image", "media", "font", "stylesheet", "script", "xhr", "fetch", "websocket", "other");
+
+    private final Set<String> types;
+    private final List<String> urlPatterns;
+
+    /**
+     * @param types       resource types from {@link #RESOURCE_TYPES}, in any case
+     * @param urlPatterns URL patterns where {@code *} matches any characters, or {@link #TRACKERS}
+     * @throws IllegalArgumentException if a resource type is unknown
+     */
+    public BlockingRules(Collection<String> types, Collection<String> urlPatterns) {
+        Set<String> normalizedTypes = new LinkedHashSet<>();
+        for (String type : types) {
+            String normalized = type.trim().toLowerCase();
+            if (!CDP_TYPES.containsKey(normalized)) {
+                throw new IllegalArgumentException("Unknown resource type: " + type + " (expected one of " + RESOURCE_TYPES + ")");
+            }
+            normalizedTypes.add(normalized);
+        }
+
+        Set<String> patterns = new LinkedHashSet<>();
+        for (String pattern : urlPatterns) {
+            String trimmed = pattern.trim();
+            if (trimmed.equalsIgnoreCase(TRACKERS)) {
+                patterns.addAll(TRACKER_PATTERNS);
+            } else if (!trimmed.isEmpty()) {
+                patterns.add(trimmed);
+            }
+        }
+
+        this.types = Collections.unmodifiableSet(normalizedTypes);
+        this.urlPatterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+    }
+
+    /**
+     * Rules that block nothing.
+     */
+    public static BlockingRules none() {
+        return new BlockingRules(Collections.emptyList(), Collections.emptyList());
+    }
+
+    public Set<String> getTypes() {
+        return types;
+    }
+
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+    public boolean isEmpty() {
+        return types.isEmpty() && urlPatterns.isEmpty();
+    }
+
+    /**
+     * Check whether a resource type, as named by CDP, is blocked.
+     */
+    public boolean blocksCdpType(String cdpType) {
+        for (String type : types) {
+            if (CDP_TYPES.get(type).equals(cdpType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the CDP names of the blocked resource types.
+     */
+    public List<String> getCdpTypes() {
+        List<String> cdpTypes = new ArrayList<>();
+        for (String type : types) {
+            cdpTypes.add(CDP_TYPES.get(type));
+        }
+        return cdpTypes;
+    }
+}
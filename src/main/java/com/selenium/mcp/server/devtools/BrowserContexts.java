@@ -0,0 +1,113 @@
+package com.selenium.mcp.server.devtools;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.devtools.SeleniumCdpConnection;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Creates and disposes CDP browser contexts in a running Chromium browser.
+ * A browser context is an incognito-like partition with its own cookies,
+ * storage and cache, so one browser process can host isolated sessions one
+ * after another. Commands go over a browser-level DevTools connection, since
+ * the Target domain's context commands are not allowed on page sessions.
+ */
+public class BrowserContexts {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserContexts.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final Connection connection;
+
+    private BrowserContexts(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Open a browser-level DevTools connection to the driver's browser.
+     *
+     * @return empty if the browser does not report a DevTools endpoint
+     */
+    public static Optional<BrowserContexts> connect(WebDriver driver) {
+        return SeleniumCdpConnection.create(driver).map(BrowserContexts::new);
+    }
+
+    /**
+     * Create a browser context with one blank page in it.
+     */
+    public Context create(int width, int height) {
+        Map<String, Object> context = send("Target.createBrowserContext", new LinkedHashMap<>());
+        String contextId = (String) context.get("browserContextId");
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("url", "about:blank");
+        params.put("browserContextId", contextId);
+        params.put("width", width);
+        params.put("height", height);
+        try {
+            Map<String, Object> target = send("Target.createTarget", params);
+            return new Context(contextId, (String) target.get("targetId"));
+        } catch (RuntimeException e) {
+            dispose(contextId);
+            throw e;
+        }
+    }
+
+    /**
+     * Dispose a browser context, closing its pages and discarding its storage.
+     */
+    public void dispose(String contextId) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("browserContextId", contextId);
+        try {
+            send("Target.disposeBrowserContext", params);
+        } catch (RuntimeException e) {
+            logger.warn("Could not dispose browser context {}: {}", contextId, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> send(String method, Map<String, Object> params) {
+        Map<String, Object> result = connection.sendAndWait(null, new Command<>(method, params, Json.MAP_TYPE), TIMEOUT);
+        return result != null ? result : new LinkedHashMap<>();
+    }
+
+    /**
+     * Close the DevTools connection. Contexts that were not disposed stay open.
+     */
+    public void close() {
+        try {
+            connection.close();
+        } catch (Exception e) {
+            logger.debug("Error closing browser DevTools connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A browser context and the page created in it. ChromeDriver uses CDP
+     * target ids as window handles, so the page id can be switched to directly.
+     */
+    public static class Context {
+        private final String id;
+        private final String targetId;
+
+        Context(String id, String targetId) {
+            this.id = id;
+            this.targetId = targetId;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTargetId() {
+            return targetId;
+        }
+    }
+}
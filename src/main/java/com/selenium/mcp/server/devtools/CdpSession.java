@@ -0,0 +1,139 @@
+package com.selenium.mcp.server.devtools;
+
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Thin wrapper around Selenium's DevTools connection that speaks raw CDP.
+ * Commands and events are addressed by their protocol names so the server
+ * does not depend on a specific versioned devtools module.
+ */
+public class CdpSession {
+    private static final Logger logger = LoggerFactory.getLogger(CdpSession.class);
+    private final DevTools devTools;
+    private final Map<String, List<Consumer<Map<String, Object>>>> listeners = new ConcurrentHashMap<>();
+    private final List<Consumer<CdpSession>> attachListeners = new CopyOnWriteArrayList<>();
+    private String attachedHandle;
+
+    public CdpSession(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /**
+     * Attach the session to the given window handle if it is not attached already.
+     */
+    public synchronized void attach(String windowHandle) {
+        if (windowHandle.equals(attachedHandle)) {
+            return;
+        }
+
+        logger.debug("Attaching CDP session to window {}", windowHandle);
+        if (attachedHandle != null) {
+            // Detach first so events from the previous tab are not attributed to the new one
+            devTools.disconnectSession();
+        }
+        devTools.createSession(windowHandle);
+        attachedHandle = windowHandle;
+
+        for (Consumer<CdpSession> listener : attachListeners) {
+            try {
+                listener.accept(this);
+            } catch (Exception e) {
+                logger.warn("Error preparing CDP session for window {}: {}", windowHandle, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Run a callback every time the session attaches to a new target, e.g. to enable domains.
+     * The callback runs immediately if the session is already attached.
+     */
+    public synchronized void addAttachListener(Consumer<CdpSession> listener) {
+        attachListeners.add(listener);
+        if (attachedHandle != null) {
+            listener.accept(this);
+        }
+    }
+
+    /**
+     * Get the window handle the session is currently attached to.
+     */
+    public synchronized String getAttachedHandle() {
+        return attachedHandle;
+    }
+
+    /**
+     * Send a CDP command and wait for its result.
+     */
+    public Map<String, Object> send(String method, Map<String, Object> params) {
+        Map<String, Object> result = devTools.send(new Command<>(method, params, Json.MAP_TYPE));
+        return result != null ? result : Collections.emptyMap();
+    }
+
+    /**
+     * Send a CDP command without parameters.
+     */
+    public Map<String, Object> send(String method) {
+        return send(method, Collections.emptyMap());
+    }
+
+    /**
+     * Listen for a CDP event. Listeners are invoked on Selenium's devtools executor threads.
+     */
+    public void addListener(String event, Consumer<Map<String, Object>> listener) {
+        listeners.computeIfAbsent(event, name -> {
+            List<Consumer<Map<String, Object>>> eventListeners = new CopyOnWriteArrayList<>();
+            // Selenium cannot remove a single listener, so register one dispatcher per event
+            devTools.addListener(new Event<Map<String, Object>>(name, input -> input.read(Json.MAP_TYPE)),
+                    payload -> dispatch(name, eventListeners, payload));
+            return eventListeners;
+        }).add(listener);
+    }
+
+    /**
+     * Stop delivering a CDP event to a listener.
+     */
+    public void removeListener(String event, Consumer<Map<String, Object>> listener) {
+        List<Consumer<Map<String, Object>>> eventListeners = listeners.get(event);
+        if (eventListeners != null) {
+            eventListeners.remove(listener);
+        }
+    }
+
+    private void dispatch(String event, List<Consumer<Map<String, Object>>> eventListeners, Map<String, Object> payload) {
+        for (Consumer<Map<String, Object>> listener : eventListeners) {
+            try {
+                listener.accept(payload);
+            } catch (Exception e) {
+                logger.warn("Error handling CDP event {}: {}", event, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Detach from the current target.
+     */
+    public synchronized void close() {
+        try {
+            listeners.clear();
+            attachListeners.clear();
+            devTools.clearListeners();
+            devTools.disconnectSession();
+        } catch (Exception e) {
+            logger.debug("Error disconnecting CDP session: {}", e.getMessage());
+        } finally {
+            attachedHandle = null;
+        }
+    }
+}
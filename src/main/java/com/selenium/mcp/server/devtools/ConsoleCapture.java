@@ -0,0 +1,173 @@
+package com.selenium.mcp.server.devtools;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.LogInspector;
+import org.openqa.selenium.bidi.log.ConsoleLogEntry;
+import org.openqa.selenium.bidi.log.JavascriptLogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded per-tab buffers of console messages.
+ * When started on a CDP or BiDi connection, messages are pushed into the
+ * buffers as the page logs them, from the first document of the session on.
+ * Otherwise callers pull messages from the browser and add them explicitly.
+ */
+public class ConsoleCapture {
+    private static final Logger logger = LoggerFactory.getLogger(ConsoleCapture.class);
+
+    private final int capacity;
+    private final Map<String, RingBuffer<ConsoleMessage>> buffers = new ConcurrentHashMap<>();
+    private volatile String source;
+    private LogInspector logInspector;
+
+    public ConsoleCapture(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Capture console API calls and uncaught exceptions through CDP Runtime events
+     * of every tab, including background tabs, popups and their frames. Runtime is
+     * enabled on each target before it starts running, and only once, so nothing
+     * is logged before the capture sees it and stored messages are not replayed
+     * again. Call before the sessions are started.
+     */
+    public void startCdp(TabSessions sessions) {
+        sessions.addListener("Runtime.consoleAPICalled", (sessionId, event) -> {
+            String handle = sessions.getTab(sessionId);
+            if (handle != null) {
+                add(handle, new ConsoleMessage(
+                        ConsoleMessage.normalizeLevel((String) event.get("type")),
+                        formatArgs(event.get("args")),
+                        toTimestamp(event.get("timestamp"))));
+            }
+        });
+        sessions.addListener("Runtime.exceptionThrown", (sessionId, event) -> {
+            String handle = sessions.getTab(sessionId);
+            Object details = event.get("exceptionDetails");
+            if (handle != null && details instanceof Map) {
+                add(handle, new ConsoleMessage("error", formatException((Map<?, ?>) details), toTimestamp(event.get("timestamp"))));
+            }
+        });
+        sessions.addAttachListener(sessionId -> sessions.send(sessionId, "Runtime.enable", new HashMap<>()));
+        source = "CDP";
+        logger.info("Console capture started via CDP (buffer size: {})", capacity);
+    }
+
+    /**
+     * Capture console entries and JavaScript errors through WebDriver BiDi log events.
+     * BiDi log entries do not name their tab, so they are attributed to the current one.
+     */
+    public void startBiDi(WebDriver driver, Supplier<String> currentHandle) {
+        logInspector = new LogInspector(driver);
+        logInspector.onConsoleEntry((ConsoleLogEntry entry) -> add(currentHandle.get(), new ConsoleMessage(
+                ConsoleMessage.normalizeLevel(entry.getMethod()), entry.getText(), entry.getTimestamp())));
+        logInspector.onJavaScriptException((JavascriptLogEntry entry) -> add(currentHandle.get(), new ConsoleMessage(
+                "error", entry.getText(), entry.getTimestamp())));
+        source = "BiDi";
+        logger.info("Console capture started via BiDi (buffer size: {})", capacity);
+    }
+
+    /**
+     * Check whether messages are pushed by the browser, so callers do not need to pull them.
+     */
+    public boolean isLive() {
+        return source != null;
+    }
+
+    /**
+     * Get the protocol feeding the capture, or null if messages are pulled by callers.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Append a message to a tab's buffer.
+     */
+    public long add(String windowHandle, ConsoleMessage message) {
+        return buffers.computeIfAbsent(windowHandle, h -> new RingBuffer<>(capacity)).add(message);
+    }
+
+    /**
+     * Read a tab's messages added after the given cursor.
+     */
+    public RingBuffer.Page<ConsoleMessage> read(String windowHandle, long since, Predicate<ConsoleMessage> filter, int limit) {
+        RingBuffer<ConsoleMessage> buffer = buffers.get(windowHandle);
+        return buffer != null ? buffer.read(since, filter, limit) : RingBuffer.Page.empty(since);
+    }
+
+    /**
+     * Discard the buffer of a closed tab.
+     */
+    public void discardTab(String windowHandle) {
+        buffers.remove(windowHandle);
+    }
+
+    /**
+     * Stop receiving BiDi events. CDP listeners are released with their connection.
+     */
+    public void close() {
+        if (logInspector != null) {
+            try {
+                logInspector.close();
+            } catch (Exception e) {
+                logger.debug("Error closing BiDi log inspector: {}", e.getMessage());
+            }
+            logInspector = null;
+        }
+    }
+
+    private static String formatArgs(Object args) {
+        if (!(args instanceof List)) {
+            return "";
+        }
+
+        StringBuilder message = new StringBuilder();
+        for (Object arg : (List<?>) args) {
+            if (message.length() > 0) {
+                message.append(' ');
+            }
+            message.append(formatRemoteObject(arg));
+        }
+        return message.toString();
+    }
+
+    private static String formatRemoteObject(Object arg) {
+        if (!(arg instanceof Map)) {
+            return String.valueOf(arg);
+        }
+
+        // Primitives carry a value; objects only carry a preview description
+        Map<?, ?> remoteObject = (Map<?, ?>) arg;
+        if (remoteObject.containsKey("value")) {
+            return String.valueOf(remoteObject.get("value"));
+        }
+        if (remoteObject.containsKey("unserializableValue")) {
+            return String.valueOf(remoteObject.get("unserializableValue"));
+        }
+        if (remoteObject.containsKey("description")) {
+            return String.valueOf(remoteObject.get("description"));
+        }
+        return String.valueOf(remoteObject.get("type"));
+    }
+
+    private static String formatException(Map<?, ?> details) {
+        Object exception = details.get("exception");
+        if (exception instanceof Map && ((Map<?, ?>) exception).get("description") != null) {
+            return String.valueOf(((Map<?, ?>) exception).get("description"));
+        }
+        return String.valueOf(details.get("text"));
+    }
+
+    private static long toTimestamp(Object timestamp) {
+        return timestamp instanceof Number ? ((Number) timestamp).longValue() : System.currentTimeMillis();
+    }
+}
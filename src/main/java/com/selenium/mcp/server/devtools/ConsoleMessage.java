@@ -0,0 +1,86 @@
+package com.selenium.mcp.server.devtools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A single console message captured from the page.
+ */
+public class ConsoleMessage {
+    private static final String[] LEVELS = {"debug", "log", "info", "warning", "error"};
+
+    private final String level;
+    private final String message;
+    private final long timestamp;
+
+    public ConsoleMessage(String level, String message, long timestamp) {
+        this.level = level;
+        this.message = message;
+        this.timestamp = timestamp;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Check whether this message is at least as severe as the given level.
+     */
+    public boolean isAtLeast(String minimumLevel) {
+        return severity(level) >= severity(minimumLevel);
+    }
+
+    /**
+     * Convert the message to JSON.
+     */
+    public ObjectNode toJson(ObjectMapper objectMapper) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("level", level);
+        node.put("message", message);
+        node.put("timestamp", timestamp);
+        return node;
+    }
+
+    /**
+     * Normalize a console API or log level name to one of debug, log, info, warning or error.
+     */
+    public static String normalizeLevel(String level) {
+        if (level == null) {
+            return "log";
+        }
+        switch (level.toLowerCase()) {
+            case "error":
+            case "severe":
+            case "assert":
+                return "error";
+            case "warn":
+            case "warning":
+                return "warning";
+            case "info":
+                return "info";
+            case "debug":
+            case "verbose":
+            case "trace":
+                return "debug";
+            default:
+                return "log";
+        }
+    }
+
+    private static int severity(String level) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equals(level)) {
+                return i;
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.selenium.mcp.server.devtools;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams a HAR 1.2 document entry by entry, so memory use does not grow
+ * with the number of requests written.
+ */
+public class HarWriter implements Closeable {
+    private final JsonGenerator gen;
+    private int entryCount;
+
+    public HarWriter(OutputStream out, String creatorName, String creatorVersion) throws IOException {
+        this.gen = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+        gen.writeStartObject();
+        gen.writeObjectFieldStart("log");
+        gen.writeStringField("version", "1.2");
+        gen.writeObjectFieldStart("creator");
+        gen.writeStringField("name", creatorName);
+        gen.writeStringField("version", creatorVersion);
+        gen.writeEndObject();
+        gen.writeArrayFieldStart("entries");
+    }
+
+    /**
+     * Append a request to the document.
+     *
+     * @param body          response body, or null if it was not captured
+     * @param base64Encoded whether the body is base64 encoded
+     */
+    public void writeEntry(NetworkRecord record, String body, boolean base64Encoded) throws IOException {
+        record.writeHarEntry(gen, body, base64Encoded);
+        entryCount++;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Finish the document and close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        gen.writeEndArray();
+        gen.writeEndObject();
+        gen.writeEndObject();
+        gen.close();
+    }
+}
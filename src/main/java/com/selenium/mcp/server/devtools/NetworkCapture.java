@@ -0,0 +1,200 @@
+package com.selenium.mcp.server.devtools;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Captures network traffic from CDP Network events into a bounded ring buffer per tab.
+ * Events of every tab, including background tabs and their out-of-process
+ * frames, arrive through auto-attached sessions and are routed by session to
+ * the buffer of the tab they belong to. A record is assembled while its request
+ * is in flight and only added to the buffer once the request finishes or fails,
+ * so buffered records no longer change and a cursor never passes over a request
+ * that would match a filter later.
+ */
+public class NetworkCapture {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkCapture.class);
+
+    private final TabSessions sessions;
+    private final int capacity;
+    private final Map<String, RingBuffer<NetworkRecord>> buffers = new ConcurrentHashMap<>();
+    // Keyed by session and request id, as request ids are only unique within a session
+    private final Map<String, NetworkRecord> inFlight;
+
+    public NetworkCapture(TabSessions sessions, int capacity) {
+        this.sessions = sessions;
+        this.capacity = capacity;
+        // Requests that never complete must not pin memory forever
+        this.inFlight = Collections.synchronizedMap(new LinkedHashMap<String, NetworkRecord>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, NetworkRecord> eldest) {
+                return size() > NetworkCapture.this.capacity;
+            }
+        });
+    }
+
+    /**
+     * Subscribe to Network events and enable the domain on every attached tab.
+     * Call before the sessions are started.
+     */
+    public void start() {
+        sessions.addListener("Network.requestWillBeSent", this::onRequestWillBeSent);
+        sessions.addListener("Network.responseReceived", this::onResponseReceived);
+        sessions.addListener("Network.loadingFinished", this::onLoadingFinished);
+        sessions.addListener("Network.loadingFailed", this::onLoadingFailed);
+        sessions.addAttachListener(sessionId -> sessions.send(sessionId, "Network.enable", new HashMap<>()));
+        logger.info("Network capture started (buffer size: {})", capacity);
+    }
+
+    /**
+     * Get the buffered records for a tab, oldest first.
+     */
+    public List<NetworkRecord> getRecords(String windowHandle) {
+        RingBuffer<NetworkRecord> buffer = buffers.get(windowHandle);
+        return buffer != null ? buffer.snapshot() : Collections.emptyList();
+    }
+
+    /**
+     * Get a tab's requests that are still in flight, oldest first. They are not
+     * in the buffer yet and get a sequence number when they complete.
+     */
+    public List<NetworkRecord> getPending(String windowHandle) {
+        List<NetworkRecord> pending = new ArrayList<>();
+        synchronized (inFlight) {
+            for (NetworkRecord record : inFlight.values()) {
+                if (windowHandle.equals(sessions.getTab(record.getSessionId()))) {
+                    pending.add(record);
+                }
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Fetch a response body from the browser while it still holds it.
+     *
+     * @return the body and whether it is base64 encoded, or null if it is no longer available
+     */
+    public Map<String, Object> getResponseBody(NetworkRecord record) {
+        try {
+            Map<String, Object> params = new HashMap<>();
+            params.put("requestId", record.getRequestId());
+            return sessions.send(record.getSessionId(), "Network.getResponseBody", params);
+        } catch (Exception e) {
+            logger.debug("Response body for {} not available: {}", record.getRequestId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read a tab's records added after the given cursor.
+     */
+    public RingBuffer.Page<NetworkRecord> read(String windowHandle, long since, Predicate<NetworkRecord> filter, int limit) {
+        RingBuffer<NetworkRecord> buffer = buffers.get(windowHandle);
+        return buffer != null ? buffer.read(since, filter, limit) : RingBuffer.Page.empty(since);
+    }
+
+    /**
+     * Discard the buffer of a closed tab.
+     */
+    public void discardTab(String windowHandle) {
+        buffers.remove(windowHandle);
+    }
+
+    private void onRequestWillBeSent(String sessionId, Map<String, Object> event) {
+        String handle = sessions.getTab(sessionId);
+        if (handle == null) {
+            return;
+        }
+
+        String requestId = String.valueOf(event.get("requestId"));
+        double timestamp = toDouble(event.get("timestamp"));
+
+        // A redirect reuses the request id; close out the previous hop first
+        Object redirectResponse = event.get("redirectResponse");
+        NetworkRecord previous = inFlight.remove(key(sessionId, requestId));
+        if (previous != null && redirectResponse instanceof Map) {
+            applyResponse(previous, null, (Map<?, ?>) redirectResponse);
+            previous.onFinished(timestamp, -1);
+            addCompleted(handle, previous);
+        }
+
+        Map<?, ?> request = (Map<?, ?>) event.get("request");
+        if (request == null) {
+            return;
+        }
+
+        NetworkRecord record = new NetworkRecord(
+                sessionId,
+                requestId,
+                String.valueOf(request.get("url")),
+                String.valueOf(request.get("method")),
+                (String) event.get("type"),
+                (long) (toDouble(event.get("wallTime")) * 1000),
+                timestamp,
+                NetworkRecord.toHeaders(request.get("headers")));
+
+        inFlight.put(key(sessionId, requestId), record);
+    }
+
+    private void onResponseReceived(String sessionId, Map<String, Object> event) {
+        NetworkRecord record = inFlight.get(key(sessionId, event.get("requestId")));
+        Object response = event.get("response");
+        if (record != null && response instanceof Map) {
+            applyResponse(record, (String) event.get("type"), (Map<?, ?>) response);
+        }
+    }
+
+    private void onLoadingFinished(String sessionId, Map<String, Object> event) {
+        NetworkRecord record = inFlight.remove(key(sessionId, event.get("requestId")));
+        if (record != null) {
+            record.onFinished(toDouble(event.get("timestamp")), (long) toDouble(event.get("encodedDataLength")));
+            addCompleted(sessions.getTab(sessionId), record);
+        }
+    }
+
+    private void onLoadingFailed(String sessionId, Map<String, Object> event) {
+        NetworkRecord record = inFlight.remove(key(sessionId, event.get("requestId")));
+        if (record != null) {
+            Object errorText = event.get("errorText");
+            record.onFailed(toDouble(event.get("timestamp")), errorText != null ? errorText.toString() : "failed");
+            addCompleted(sessions.getTab(sessionId), record);
+        }
+    }
+
+    private void addCompleted(String handle, NetworkRecord record) {
+        if (handle != null) {
+            buffers.computeIfAbsent(handle, h -> new RingBuffer<>(capacity)).add(record);
+        }
+    }
+
+    private void applyResponse(NetworkRecord record, String resourceType, Map<?, ?> response) {
+        record.onResponse(
+                resourceType,
+                (int) toDouble(response.get("status")),
+                (String) response.get("statusText"),
+                (String) response.get("mimeType"),
+                (String) response.get("protocol"),
+                Boolean.TRUE.equals(response.get("fromDiskCache")) || Boolean.TRUE.equals(response.get("fromPrefetchCache")),
+                NetworkRecord.toHeaders(response.get("headers")),
+                NetworkRecord.toTiming(response.get("timing")),
+                (String) response.get("remoteIPAddress"));
+    }
+
+    private static String key(String sessionId, Object requestId) {
+        return sessionId + "/" + requestId;
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+}
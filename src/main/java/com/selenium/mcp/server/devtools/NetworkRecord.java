@@ -0,0 +1,343 @@
+package com.selenium.mcp.server.devtools;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compact record of a single network request assembled from CDP Network events.
+ */
+public class NetworkRecord {
+    private final String sessionId;
+    private final String requestId;
+    private final String url;
+    private final String method;
+    private final long startWallTime;
+    private final double startTimestamp;
+    private final Map<String, String> requestHeaders;
+    private String resourceType;
+    private int status;
+    private String statusText;
+    private String mimeType;
+    private String protocol;
+    private boolean fromCache;
+    private Map<String, String> responseHeaders = Collections.emptyMap();
+    private Map<String, Double> timing = Collections.emptyMap();
+    private String remoteIPAddress;
+    private double endTimestamp;
+    private long encodedDataLength = -1;
+    private boolean finished;
+    private String errorText;
+
+    NetworkRecord(String sessionId, String requestId, String url, String method, String resourceType,
+                  long startWallTime, double startTimestamp, Map<String, String> requestHeaders) {
+        this.sessionId = sessionId;
+        this.requestId = requestId;
+        this.url = url;
+        this.method = method;
+        this.resourceType = resourceType;
+        this.startWallTime = startWallTime;
+        this.startTimestamp = startTimestamp;
+        this.requestHeaders = requestHeaders;
+    }
+
+    synchronized void onResponse(String resourceType, int status, String statusText, String mimeType,
+                                 String protocol, boolean fromCache, Map<String, String> responseHeaders,
+                                 Map<String, Double> timing, String remoteIPAddress) {
+        if (resourceType != null) {
+            this.resourceType = resourceType;
+        }
+        this.status = status;
+        this.statusText = statusText;
+        this.mimeType = mimeType;
+        this.protocol = protocol;
+        this.fromCache = fromCache;
+        this.responseHeaders = responseHeaders;
+        this.timing = timing;
+        this.remoteIPAddress = remoteIPAddress;
+    }
+
+    synchronized void onFinished(double timestamp, long encodedDataLength) {
+        this.endTimestamp = timestamp;
+        this.encodedDataLength = encodedDataLength;
+        this.finished = true;
+    }
+
+    synchronized void onFailed(double timestamp, String errorText) {
+        this.endTimestamp = timestamp;
+        this.errorText = errorText;
+        this.finished = true;
+    }
+
+    /**
+     * Get the CDP session the request was made in, which holds its response body.
+     */
+    String getSessionId() {
+        return sessionId;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public synchronized String getResourceType() {
+        return resourceType;
+    }
+
+    public synchronized int getStatus() {
+        return status;
+    }
+
+    public synchronized boolean isFailed() {
+        return errorText != null;
+    }
+
+    public synchronized long getEncodedDataLength() {
+        return encodedDataLength;
+    }
+
+    public synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Convert the record to JSON.
+     */
+    public synchronized ObjectNode toJson(ObjectMapper objectMapper, boolean includeHeaders) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("requestId", requestId);
+        node.put("url", url);
+        node.put("method", method);
+        if (resourceType != null) {
+            node.put("type", resourceType);
+        }
+        node.put("startTime", startWallTime);
+        if (status > 0) {
+            node.put("status", status);
+            node.put("statusText", statusText);
+        }
+        if (mimeType != null) {
+            node.put("mimeType", mimeType);
+        }
+        if (fromCache) {
+            node.put("fromCache", true);
+        }
+        if (finished) {
+            node.put("duration", (endTimestamp - startTimestamp) * 1000);
+        } else {
+            node.put("pending", true);
+        }
+        if (encodedDataLength >= 0) {
+            node.put("size", encodedDataLength);
+        }
+        if (errorText != null) {
+            node.put("failed", true);
+            node.put("errorText", errorText);
+        }
+        if (includeHeaders) {
+            if (protocol != null) {
+                node.put("protocol", protocol);
+            }
+            node.set("requestHeaders", objectMapper.valueToTree(requestHeaders));
+            node.set("responseHeaders", objectMapper.valueToTree(responseHeaders));
+        }
+        return node;
+    }
+
+    /**
+     * Write the record as a HAR 1.2 entry.
+     *
+     * @param body          response body, or null if it was not captured
+     * @param base64Encoded whether the body is base64 encoded
+     */
+    public synchronized void writeHarEntry(JsonGenerator gen, String body, boolean base64Encoded) throws IOException {
+        double[] phases = computeHarTimings();
+        double total = 0;
+        for (int i = 0; i < phases.length - 1; i++) {
+            total += Math.max(phases[i], 0);
+        }
+
+        gen.writeStartObject();
+        gen.writeStringField("startedDateTime", Instant.ofEpochMilli(startWallTime).toString());
+        gen.writeNumberField("time", total);
+
+        String httpVersion = toHttpVersion(protocol);
+        gen.writeObjectFieldStart("request");
+        gen.writeStringField("method", method);
+        gen.writeStringField("url", url);
+        gen.writeStringField("httpVersion", httpVersion);
+        gen.writeArrayFieldStart("cookies");
+        gen.writeEndArray();
+        writeHarHeaders(gen, requestHeaders);
+        writeHarQueryString(gen);
+        gen.writeNumberField("headersSize", -1);
+        gen.writeNumberField("bodySize", -1);
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("response");
+        gen.writeNumberField("status", status);
+        gen.writeStringField("statusText", statusText != null ? statusText : "");
+        gen.writeStringField("httpVersion", httpVersion);
+        gen.writeArrayFieldStart("cookies");
+        gen.writeEndArray();
+        writeHarHeaders(gen, responseHeaders);
+        gen.writeObjectFieldStart("content");
+        gen.writeNumberField("size", body != null && !base64Encoded ? body.length() : Math.max(encodedDataLength, 0));
+        gen.writeStringField("mimeType", mimeType != null ? mimeType : "x-unknown");
+        if (body != null) {
+            gen.writeStringField("text", body);
+            if (base64Encoded) {
+                gen.writeStringField("encoding", "base64");
+            }
+        }
+        gen.writeEndObject();
+        String location = responseHeaders.getOrDefault("location", responseHeaders.get("Location"));
+        gen.writeStringField("redirectURL", location != null ? location : "");
+        gen.writeNumberField("headersSize", -1);
+        gen.writeNumberField("bodySize", encodedDataLength);
+        if (errorText != null) {
+            gen.writeStringField("_error", errorText);
+        }
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("cache");
+        gen.writeEndObject();
+
+        gen.writeObjectFieldStart("timings");
+        gen.writeNumberField("blocked", phases[0]);
+        gen.writeNumberField("dns", phases[1]);
+        gen.writeNumberField("connect", phases[2]);
+        gen.writeNumberField("send", phases[3]);
+        gen.writeNumberField("wait", phases[4]);
+        gen.writeNumberField("receive", phases[5]);
+        gen.writeNumberField("ssl", phases[6]);
+        gen.writeEndObject();
+
+        if (remoteIPAddress != null) {
+            gen.writeStringField("serverIPAddress", remoteIPAddress);
+        }
+        if (resourceType != null) {
+            gen.writeStringField("_resourceType", resourceType);
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Convert CDP resource timing into HAR phases:
+     * blocked, dns, connect, send, wait, receive and ssl (ssl is part of connect).
+     */
+    private double[] computeHarTimings() {
+        double total = finished ? Math.max((endTimestamp - startTimestamp) * 1000, 0) : 0;
+        if (timing.isEmpty()) {
+            return new double[]{-1, -1, -1, 0, total, 0, -1};
+        }
+
+        // Timing offsets are milliseconds relative to requestTime, -1 when a phase did not happen
+        double requestTime = timing.getOrDefault("requestTime", startTimestamp);
+        double queued = Math.max((requestTime - startTimestamp) * 1000, 0);
+        double dnsStart = timing.getOrDefault("dnsStart", -1.0);
+        double connectStart = timing.getOrDefault("connectStart", -1.0);
+        double sendStart = timing.getOrDefault("sendStart", 0.0);
+        double sendEnd = timing.getOrDefault("sendEnd", sendStart);
+        double headersEnd = timing.getOrDefault("receiveHeadersEnd", sendEnd);
+
+        double firstPhase = dnsStart >= 0 ? dnsStart : connectStart >= 0 ? connectStart : sendStart;
+        double blocked = queued + Math.max(firstPhase, 0);
+        double dns = phase(dnsStart, timing.getOrDefault("dnsEnd", -1.0));
+        double connect = phase(connectStart, timing.getOrDefault("connectEnd", -1.0));
+        double ssl = phase(timing.getOrDefault("sslStart", -1.0), timing.getOrDefault("sslEnd", -1.0));
+        double send = Math.max(sendEnd - sendStart, 0);
+        double wait = Math.max(headersEnd - sendEnd, 0);
+        double receive = finished ? Math.max((endTimestamp - requestTime) * 1000 - headersEnd, 0) : 0;
+        return new double[]{blocked, dns, connect, send, wait, receive, ssl};
+    }
+
+    private static double phase(double start, double end) {
+        return start >= 0 && end >= start ? end - start : -1;
+    }
+
+    private void writeHarQueryString(JsonGenerator gen) throws IOException {
+        gen.writeArrayFieldStart("queryString");
+        try {
+            String query = URI.create(url).getRawQuery();
+            if (query != null) {
+                for (String pair : query.split("&")) {
+                    int separator = pair.indexOf('=');
+                    String name = separator >= 0 ? pair.substring(0, separator) : pair;
+                    String value = separator >= 0 ? pair.substring(separator + 1) : "";
+                    gen.writeStartObject();
+                    gen.writeStringField("name", URLDecoder.decode(name, StandardCharsets.UTF_8));
+                    gen.writeStringField("value", URLDecoder.decode(value, StandardCharsets.UTF_8));
+                    gen.writeEndObject();
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a parseable URI (e.g. data: URLs), leave the query string empty
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeHarHeaders(JsonGenerator gen, Map<String, String> headers) throws IOException {
+        gen.writeArrayFieldStart("headers");
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            gen.writeStartObject();
+            gen.writeStringField("name", header.getKey());
+            gen.writeStringField("value", header.getValue());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    private static String toHttpVersion(String protocol) {
+        if (protocol == null || protocol.isEmpty()) {
+            return "";
+        }
+        switch (protocol.toLowerCase()) {
+            case "h2":
+                return "HTTP/2";
+            case "h3":
+                return "HTTP/3";
+            default:
+                return protocol.toUpperCase();
+        }
+    }
+
+    static Map<String, Double> toTiming(Object timing) {
+        if (!(timing instanceof Map)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) timing).entrySet()) {
+            if (entry.getValue() instanceof Number) {
+                result.put(String.valueOf(entry.getKey()), ((Number) entry.getValue()).doubleValue());
+            }
+        }
+        return result;
+    }
+
+    static Map<String, String> toHeaders(Object headers) {
+        if (!(headers instanceof Map)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> result = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) headers).entrySet()) {
+            result.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package com.selenium.mcp.server.devtools;
+
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocks requests on Chromium-based browsers before they leave the browser.
+ * URL patterns go to Network.setBlockedURLs, which the browser matches
+ * without a round trip. Resource types are intercepted with Fetch patterns
+ * limited to those types and failed, so other requests are never paused.
+ * Rules are applied to every tab, popup and frame as it attaches, before it
+ * is resumed, so even the first document of a new tab is covered.
+ */
+public class ResourceBlocker {
+    private static final Logger logger = LoggerFactory.getLogger(ResourceBlocker.class);
+
+    private final TabSessions sessions;
+    private volatile BlockingRules rules;
+
+    public ResourceBlocker(TabSessions sessions, BlockingRules rules) {
+        this.sessions = sessions;
+        this.rules = rules;
+    }
+
+    /**
+     * Listen for intercepted requests and apply the rules on every attached tab.
+     * Call before the sessions are started.
+     */
+    public void start() {
+        sessions.addListener("Fetch.requestPaused", this::onRequestPaused);
+        sessions.addAttachListener(sessionId -> {
+            // A newly attached target starts without blocking, so there is nothing to clear
+            if (!rules.isEmpty()) {
+                apply(sessionId);
+            }
+        });
+        if (!rules.isEmpty()) {
+            logger.info("Blocking resource types {} and URLs {}", rules.getTypes(), rules.getUrlPatterns());
+        }
+    }
+
+    public BlockingRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Replace the rules and apply them to every attached tab. Targets that
+     * attach meanwhile already get the new rules from the attach listener.
+     */
+    public synchronized void setRules(BlockingRules rules) {
+        this.rules = rules;
+        for (String sessionId : sessions.getSessions()) {
+            try {
+                apply(sessionId);
+            } catch (Exception e) {
+                // The target may have closed since it was listed
+                logger.debug("Could not apply blocking rules to session {}: {}", sessionId, e.getMessage());
+            }
+        }
+        logger.info("Blocking resource types {} and URLs {}", rules.getTypes(), rules.getUrlPatterns());
+    }
+
+    private void apply(String sessionId) {
+        BlockingRules current = rules;
+
+        Map<String, Object> blockedUrls = new LinkedHashMap<>();
+        blockedUrls.put("urls", current.getUrlPatterns());
+        sessions.send(sessionId, "Network.enable", new LinkedHashMap<>());
+        sessions.send(sessionId, "Network.setBlockedURLs", blockedUrls);
+
+        if (current.getTypes().isEmpty()) {
+            sessions.send(sessionId, "Fetch.disable", new LinkedHashMap<>());
+            return;
+        }
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : current.getCdpTypes()) {
+            Map<String, Object> pattern = new LinkedHashMap<>();
+            pattern.put("urlPattern", "*");
+            pattern.put("resourceType", type);
+            pattern.put("requestStage", "Request");
+            patterns.add(pattern);
+        }
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("patterns", patterns);
+        sessions.send(sessionId, "Fetch.enable", params);
+    }
+
+    private void onRequestPaused(String sessionId, Map<String, Object> event) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("requestId", event.get("requestId"));
+        // Requests paused under rules that were just replaced may no longer be blocked
+        if (rules.blocksCdpType((String) event.get("resourceType"))) {
+            params.put("errorReason", "BlockedByClient");
+            sessions.send(sessionId, "Fetch.failRequest", params);
+        } else {
+            sessions.send(sessionId, "Fetch.continueRequest", params);
+        }
+    }
+
+    /**
+     * Block resource types through Firefox preferences at launch. Firefox has no
+     * equivalent for scripts, XHR, fetch, WebSockets or URL patterns.
+     */
+    public static void applyPreferences(BlockingRules rules, FirefoxOptions options) {
+        List<String> unsupported = new ArrayList<>();
+        for (String type : rules.getTypes()) {
+            switch (type) {
+                case "image":
+                    options.addPreference("permissions.default.image", 2);
+                    break;
+                case "stylesheet":
+                    options.addPreference("permissions.default.stylesheet", 2);
+                    break;
+                case "font":
+                    options.addPreference("gfx.downloadable_fonts.enabled", false);
+                    break;
+                case "media":
+                    options.addPreference("media.autoplay.default", 5);
+                    options.addPreference("media.preload.default", 0);
+                    break;
+                default:
+                    unsupported.add(type);
+                    break;
+            }
+        }
+        if (!unsupported.isEmpty() || !rules.getUrlPatterns().isEmpty()) {
+            logger.warn("Firefox cannot block resource types {} or URL patterns {}, they are ignored",
+                    unsupported, rules.getUrlPatterns());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.selenium.mcp.server.devtools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-capacity buffer that overwrites its oldest entry when full.
+ * Every entry gets a monotonic sequence number starting at 1 so readers can
+ * resume from a cursor and only see entries added since their last read.
+ */
+public class RingBuffer<T> {
+    private final Object[] entries;
+    private final long[] seqs;
+    private int head;
+    private int size;
+    private long lastSeq;
+    private long dropped;
+
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.entries = new Object[capacity];
+        this.seqs = new long[capacity];
+    }
+
+    /**
+     * Append an entry, evicting the oldest one if the buffer is full.
+     *
+     * @return the sequence number assigned to the entry
+     */
+    public synchronized long add(T entry) {
+        int tail = (head + size) % entries.length;
+        entries[tail] = entry;
+        seqs[tail] = ++lastSeq;
+        if (size < entries.length) {
+            size++;
+        } else {
+            head = (head + 1) % entries.length;
+            dropped++;
+        }
+        return lastSeq;
+    }
+
+    /**
+     * Copy the buffered entries, oldest first.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> snapshot() {
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add((T) entries[(head + i) % entries.length]);
+        }
+        return result;
+    }
+
+    /**
+     * Read entries with a sequence number greater than {@code since}, oldest first.
+     * Only entries after the cursor are visited, so the cost of a read is
+     * proportional to the number of new entries rather than the buffer size.
+     *
+     * @param since  cursor returned by a previous read, or 0 to start at the oldest entry.
+     *               A cursor from a buffer that has since been replaced restarts at the oldest entry.
+     * @param filter entries that do not match are skipped but still advance the cursor
+     * @param limit  maximum number of matching entries to return, or 0 for no limit
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Page<T> read(long since, Predicate<T> filter, int limit) {
+        if (since > lastSeq) {
+            since = 0;
+        }
+
+        long firstSeq = lastSeq - size + 1;
+        long missed = size > 0 && since + 1 < firstSeq ? firstSeq - since - 1 : 0;
+        int start = (int) Math.max(0, Math.min(size, since - firstSeq + 1));
+
+        List<Entry<T>> result = new ArrayList<>();
+        long cursor = Math.max(since, firstSeq - 1);
+        boolean hasMore = false;
+        for (int i = start; i < size; i++) {
+            if (limit > 0 && result.size() >= limit) {
+                hasMore = true;
+                break;
+            }
+
+            int index = (head + i) % entries.length;
+            T entry = (T) entries[index];
+            cursor = seqs[index];
+            if (filter == null || filter.test(entry)) {
+                result.add(new Entry<>(seqs[index], entry));
+            }
+        }
+
+        return new Page<>(result, Math.max(cursor, 0), hasMore, missed);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Get the sequence number of the most recent entry, or 0 if nothing was added yet.
+     */
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Get the number of entries evicted because the buffer was full.
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Remove all entries. Sequence numbers keep increasing so existing cursors stay valid.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * A buffered entry with its sequence number.
+     */
+    public static class Entry<T> {
+        private final long seq;
+        private final T value;
+
+        Entry(long seq, T value) {
+            this.seq = seq;
+            this.value = value;
+        }
+
+        public long getSeq() {
+            return seq;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Result of a cursor read.
+     */
+    public static class Page<T> {
+        private final List<Entry<T>> entries;
+        private final long nextCursor;
+        private final boolean hasMore;
+        private final long missed;
+
+        Page(List<Entry<T>> entries, long nextCursor, boolean hasMore, long missed) {
+            this.entries = entries;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+            this.missed = missed;
+        }
+
+        static <T> Page<T> empty(long since) {
+            return new Page<>(Collections.emptyList(), since, false, 0);
+        }
+
+        public List<Entry<T>> getEntries() {
+            return entries;
+        }
+
+        /**
+         * Get the cursor to pass as {@code since} on the next read.
+         */
+        public long getNextCursor() {
+            return nextCursor;
+        }
+
+        /**
+         * Check whether the read stopped because the limit was reached.
+         */
+        public boolean hasMore() {
+            return hasMore;
+        }
+
+        /**
+         * Get the number of entries after the cursor that were evicted before this read.
+         */
+        public long getMissed() {
+            return missed;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.selenium.mcp.server.devtools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.selenium.mcp.server.EventSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Streams CDP screencast frames to an {@link EventSink}.
+ * Every frame is acknowledged so Chrome keeps producing frames, but frames are
+ * only forwarded when the fps budget allows it and the client has caught up.
+ */
+public class Screencast {
+    public static final String EVENT_NAME = "screencast";
+    private static final Logger logger = LoggerFactory.getLogger(Screencast.class);
+    private static final String FRAME_EVENT = "Page.screencastFrame";
+
+    private final CdpSession session;
+    private final EventSink sink;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long minFrameIntervalNanos;
+    private final Consumer<Map<String, Object>> frameListener = this::onFrame;
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesDropped = new AtomicLong();
+    private volatile long lastSentNanos;
+    private volatile boolean running;
+    private long startedAt;
+
+    public Screencast(CdpSession session, EventSink sink, double maxFps) {
+        this.session = session;
+        this.sink = sink;
+        this.minFrameIntervalNanos = maxFps > 0 ? (long) (1_000_000_000L / maxFps) : 0;
+    }
+
+    /**
+     * Start the screencast on the session's current target.
+     */
+    public void start(int quality, Integer maxWidth, Integer maxHeight, int everyNthFrame) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", "jpeg");
+        params.put("quality", quality);
+        params.put("everyNthFrame", everyNthFrame);
+        if (maxWidth != null) {
+            params.put("maxWidth", maxWidth);
+        }
+        if (maxHeight != null) {
+            params.put("maxHeight", maxHeight);
+        }
+
+        session.addListener(FRAME_EVENT, frameListener);
+        running = true;
+        startedAt = System.currentTimeMillis();
+        session.send("Page.startScreencast", params);
+        logger.info("Screencast started (quality: {}, max size: {}x{})", quality, maxWidth, maxHeight);
+    }
+
+    /**
+     * Stop the screencast and return delivery statistics.
+     */
+    public ObjectNode stop() {
+        running = false;
+        try {
+            session.send("Page.stopScreencast");
+        } catch (Exception e) {
+            logger.debug("Error stopping screencast: {}", e.getMessage());
+        } finally {
+            session.removeListener(FRAME_EVENT, frameListener);
+        }
+
+        logger.info("Screencast stopped after {} frames ({} dropped)", framesSent.get(), framesDropped.get());
+        return getStats();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Get frame delivery statistics.
+     */
+    public ObjectNode getStats() {
+        ObjectNode stats = objectMapper.createObjectNode();
+        stats.put("framesReceived", framesReceived.get());
+        stats.put("framesSent", framesSent.get());
+        stats.put("framesDropped", framesDropped.get());
+        stats.put("durationMs", System.currentTimeMillis() - startedAt);
+        return stats;
+    }
+
+    private void onFrame(Map<String, Object> frame) {
+        // Acknowledge first, otherwise Chrome stops sending frames
+        Object frameSessionId = frame.get("sessionId");
+        try {
+            Map<String, Object> ack = new HashMap<>();
+            ack.put("sessionId", frameSessionId);
+            session.send("Page.screencastFrameAck", ack);
+        } catch (Exception e) {
+            logger.debug("Error acknowledging screencast frame: {}", e.getMessage());
+        }
+
+        if (!running) {
+            return;
+        }
+
+        long seq = framesReceived.incrementAndGet();
+        long now = System.nanoTime();
+        if (minFrameIntervalNanos > 0 && lastSentNanos != 0 && now - lastSentNanos < minFrameIntervalNanos) {
+            framesDropped.incrementAndGet();
+            return;
+        }
+
+        ObjectNode event = objectMapper.createObjectNode();
+        event.put("type", "screencastFrame");
+        event.put("seq", seq);
+        event.put("mimeType", "image/jpeg");
+        event.put("data", String.valueOf(frame.get("data")));
+        Object metadata = frame.get("metadata");
+        if (metadata instanceof Map) {
+            event.set("metadata", objectMapper.valueToTree(metadata));
+        }
+
+        if (sink.offerEvent(EVENT_NAME, event.toString())) {
+            lastSentNanos = now;
+            framesSent.incrementAndGet();
+        } else {
+            // Client is still consuming the previous frame
+            framesDropped.incrementAndGet();
+        }
+    }
+}
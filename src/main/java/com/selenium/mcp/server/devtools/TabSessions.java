@@ -0,0 +1,308 @@
+package com.selenium.mcp.server.devtools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.devtools.CdpEndpointFinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Browser-level DevTools connection that attaches to every tab with
+ * Target.setAutoAttach and flattened sessions, so events from background tabs
+ * are received as well as from the focused one. Each event is delivered with
+ * the session that sent it, which maps to the window handle of its tab; child
+ * targets such as out-of-process iframes map to the tab that contains them.
+ * Selenium's CDP connection drops the session ID of events, so this one
+ * speaks the protocol over its own WebSocket.
+ */
+public class TabSessions {
+    private static final Logger logger = LoggerFactory.getLogger(TabSessions.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong nextId = new AtomicLong();
+    private final Map<Long, CompletableFuture<Map<String, Object>>> pending = new ConcurrentHashMap<>();
+    private final Map<String, String> tabs = new ConcurrentHashMap<>();
+    private final Map<String, List<BiConsumer<String, Map<String, Object>>>> listeners = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> attachListeners = new CopyOnWriteArrayList<>();
+    // Events are handled in order on one thread, which may send commands and wait for their replies
+    private final ExecutorService events = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cdp-tab-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private WebSocket webSocket;
+
+    private TabSessions() {
+    }
+
+    /**
+     * Open a browser-level DevTools connection to the driver's browser.
+     *
+     * @return empty if the browser does not report a DevTools endpoint
+     */
+    public static Optional<TabSessions> connect(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return Optional.empty();
+        }
+        Optional<URI> endpoint = findEndpoint(((HasCapabilities) driver).getCapabilities());
+        if (endpoint.isEmpty()) {
+            return Optional.empty();
+        }
+
+        TabSessions sessions = new TabSessions();
+        try {
+            sessions.webSocket = HttpClient.newHttpClient().newWebSocketBuilder()
+                    .connectTimeout(TIMEOUT)
+                    .buildAsync(endpoint.get(), sessions.new Listener())
+                    .get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            sessions.events.shutdownNow();
+            throw new WebDriverException("Could not connect to " + endpoint.get(), e);
+        }
+        return Optional.of(sessions);
+    }
+
+    private static Optional<URI> findEndpoint(Capabilities capabilities) {
+        Object cdp = capabilities.getCapability("se:cdp");
+        if (cdp instanceof String) {
+            return Optional.of(URI.create((String) cdp));
+        }
+        return CdpEndpointFinder.getReportedUri(capabilities)
+                .flatMap(uri -> CdpEndpointFinder.getCdpEndPoint(
+                        CdpEndpointFinder.getHttpClient(org.openqa.selenium.remote.http.HttpClient.Factory.createDefault(), uri)));
+    }
+
+    /**
+     * Attach to all current and future tabs. Register listeners first, so no
+     * tab's first events are missed.
+     */
+    public void start() {
+        send(null, "Target.setAutoAttach", autoAttachParams());
+    }
+
+    /**
+     * Listen for a CDP event from any tab. The listener gets the session ID and
+     * the event parameters, on the connection's event thread.
+     */
+    public void addListener(String event, BiConsumer<String, Map<String, Object>> listener) {
+        listeners.computeIfAbsent(event, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Run a callback with the session ID of every tab or frame session, e.g. to
+     * enable domains, before the target is resumed.
+     */
+    public void addAttachListener(Consumer<String> listener) {
+        attachListeners.add(listener);
+    }
+
+    /**
+     * Get the window handle of the tab a session belongs to, or null if the session is unknown.
+     */
+    public String getTab(String sessionId) {
+        return sessionId != null ? tabs.get(sessionId) : null;
+    }
+
+    /**
+     * Get the IDs of all attached tab and frame sessions.
+     */
+    public Set<String> getSessions() {
+        return new HashSet<>(tabs.keySet());
+    }
+
+    /**
+     * Send a CDP command to a session, or to the browser if the session is null, and wait for its result.
+     */
+    public Map<String, Object> send(String sessionId, String method, Map<String, Object> params) {
+        long id = nextId.incrementAndGet();
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("id", id);
+        message.put("method", method);
+        message.put("params", params);
+        if (sessionId != null) {
+            message.put("sessionId", sessionId);
+        }
+
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        pending.put(id, result);
+        try {
+            String text = objectMapper.writeValueAsString(message);
+            // The WebSocket accepts one outstanding send at a time
+            synchronized (this) {
+                webSocket.sendText(text, true).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            return result.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new WebDriverException(method + " failed: " + cause.getMessage(), cause);
+        } finally {
+            pending.remove(id);
+        }
+    }
+
+    /**
+     * Close the connection. The browser and its tabs are not affected.
+     */
+    public void close() {
+        events.shutdownNow();
+        if (webSocket != null) {
+            webSocket.abort();
+        }
+        for (CompletableFuture<Map<String, Object>> result : pending.values()) {
+            result.completeExceptionally(new WebDriverException("Connection closed"));
+        }
+        tabs.clear();
+    }
+
+    private static Map<String, Object> autoAttachParams() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("autoAttach", true);
+        params.put("waitForDebuggerOnStart", true);
+        params.put("flatten", true);
+        return params;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handle(String text) {
+        Map<String, Object> message;
+        try {
+            message = objectMapper.readValue(text, MAP_TYPE);
+        } catch (Exception e) {
+            logger.debug("Ignoring unreadable CDP message: {}", e.getMessage());
+            return;
+        }
+
+        Object id = message.get("id");
+        if (id instanceof Number) {
+            CompletableFuture<Map<String, Object>> result = pending.get(((Number) id).longValue());
+            if (result != null) {
+                Object error = message.get("error");
+                if (error instanceof Map) {
+                    result.completeExceptionally(new WebDriverException(String.valueOf(((Map<?, ?>) error).get("message"))));
+                } else {
+                    Object value = message.get("result");
+                    result.complete(value instanceof Map ? (Map<String, Object>) value : new LinkedHashMap<>());
+                }
+            }
+            return;
+        }
+
+        String method = (String) message.get("method");
+        String sessionId = (String) message.get("sessionId");
+        Map<String, Object> params = message.get("params") instanceof Map
+                ? (Map<String, Object>) message.get("params")
+                : new LinkedHashMap<>();
+        if (method != null) {
+            events.execute(() -> dispatch(method, sessionId, params));
+        }
+    }
+
+    private void dispatch(String method, String sessionId, Map<String, Object> params) {
+        if (method.equals("Target.attachedToTarget")) {
+            onAttached(sessionId, params);
+            return;
+        }
+        if (method.equals("Target.detachedFromTarget")) {
+            tabs.remove(String.valueOf(params.get("sessionId")));
+            return;
+        }
+
+        List<BiConsumer<String, Map<String, Object>>> eventListeners = listeners.get(method);
+        if (eventListeners == null || getTab(sessionId) == null) {
+            return;
+        }
+        for (BiConsumer<String, Map<String, Object>> listener : eventListeners) {
+            try {
+                listener.accept(sessionId, params);
+            } catch (Exception e) {
+                logger.warn("Error handling CDP event {}: {}", method, e.getMessage());
+            }
+        }
+    }
+
+    private void onAttached(String parentSessionId, Map<String, Object> params) {
+        String sessionId = String.valueOf(params.get("sessionId"));
+        Map<?, ?> targetInfo = params.get("targetInfo") instanceof Map ? (Map<?, ?>) params.get("targetInfo") : Map.of();
+        String type = String.valueOf(targetInfo.get("type"));
+
+        // Tabs attach to the browser; frames and workers attach to the tab's session
+        String tab = parentSessionId == null
+                ? (type.equals("page") ? String.valueOf(targetInfo.get("targetId")) : null)
+                : getTab(parentSessionId);
+        try {
+            if (tab != null) {
+                tabs.put(sessionId, tab);
+                for (Consumer<String> listener : attachListeners) {
+                    try {
+                        listener.accept(sessionId);
+                    } catch (Exception e) {
+                        logger.warn("Error preparing CDP session for tab {}: {}", tab, e.getMessage());
+                    }
+                }
+                send(sessionId, "Target.setAutoAttach", autoAttachParams());
+            }
+        } catch (Exception e) {
+            logger.debug("Could not auto-attach to the children of {}: {}", sessionId, e.getMessage());
+        } finally {
+            if (Boolean.TRUE.equals(params.get("waitingForDebugger"))) {
+                try {
+                    send(sessionId, "Runtime.runIfWaitingForDebugger", new LinkedHashMap<>());
+                } catch (Exception e) {
+                    logger.debug("Could not resume target {}: {}", sessionId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reassembles text messages that arrive in parts.
+     */
+    private class Listener implements WebSocket.Listener {
+        private final StringBuilder buffer = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket socket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                String text = buffer.toString();
+                buffer.setLength(0);
+                handle(text);
+            }
+            socket.request(1);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket socket, Throwable error) {
+            logger.debug("DevTools connection failed: {}", error.getMessage());
+        }
+    }
+}
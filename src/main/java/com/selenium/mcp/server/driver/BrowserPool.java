@@ -0,0 +1,158 @@
+package com.selenium.mcp.server.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Browsers launched ahead of time, so a new session starts from one that is
+ * already running instead of waiting for the driver and browser to launch.
+ * Browsers are launched in parallel, each on its own thread, and the pool is
+ * refilled in the background whenever one is taken. A launch that fails is
+ * not retried until the next browser is taken.
+ */
+public class BrowserPool {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPool.class);
+
+    private final int size;
+    private final Supplier<PooledBrowser> launcher;
+    private final ExecutorService launchers;
+    private final Queue<PooledBrowser> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger launching = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * @param size     number of idle browsers to keep running
+     * @param launcher launches one browser, throwing if it cannot
+     */
+    public BrowserPool(int size, Supplier<PooledBrowser> launcher) {
+        this.size = size;
+        this.launcher = launcher;
+        AtomicInteger threads = new AtomicInteger();
+        this.launchers = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "browser-pool-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Launch browsers until the pool is full, counting those still launching.
+     */
+    public synchronized void fill() {
+        if (closed) {
+            return;
+        }
+        int missing = size - idle.size() - launching.get();
+        for (int i = 0; i < missing; i++) {
+            launching.incrementAndGet();
+            launchers.execute(this::launch);
+        }
+    }
+
+    private void launch() {
+        long start = System.nanoTime();
+        try {
+            PooledBrowser browser = launcher.get();
+            if (closed) {
+                browser.discard();
+            } else {
+                idle.add(browser);
+                logger.info("Pooled browser ready in {} ms", (System.nanoTime() - start) / 1_000_000);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not launch a pooled browser: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                launching.decrementAndGet();
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Wait until at least the given number of browsers is idle, or until no
+     * more launches are running.
+     *
+     * @return whether the minimum was reached
+     */
+    public synchronized boolean awaitIdle(int minimum) throws InterruptedException {
+        while (idle.size() < minimum && launching.get() > 0) {
+            wait();
+        }
+        return idle.size() >= minimum;
+    }
+
+    /**
+     * Take an idle browser and launch a replacement in the background.
+     *
+     * @return the browser, or null if none is idle
+     */
+    public PooledBrowser take() {
+        PooledBrowser browser = idle.poll();
+        fill();
+        return browser;
+    }
+
+    /**
+     * Get the number of idle browsers.
+     */
+    public int getIdle() {
+        return idle.size();
+    }
+
+    /**
+     * Stop launching and quit the idle browsers.
+     */
+    public void close() {
+        closed = true;
+        launchers.shutdownNow();
+        PooledBrowser browser;
+        while ((browser = idle.poll()) != null) {
+            browser.discard();
+        }
+    }
+
+    /**
+     * A launched browser and the profile clone it runs on, if any.
+     */
+    public static class PooledBrowser {
+        private final WebDriver driver;
+        private final Path profile;
+
+        public PooledBrowser(WebDriver driver, Path profile) {
+            this.driver = driver;
+            this.profile = profile;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public Path getProfile() {
+            return profile;
+        }
+
+        /**
+         * Quit the browser and delete its profile clone.
+         */
+        public void discard() {
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                logger.debug("Error quitting pooled browser: {}", e.getMessage());
+            }
+            if (profile != null) {
+                ProfileTemplate.delete(profile);
+            }
+        }
+    }
+}
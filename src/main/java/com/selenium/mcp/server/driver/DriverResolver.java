@@ -0,0 +1,213 @@
+package com.selenium.mcp.server.driver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resolves driver binaries through an on-disk manifest, so WebDriverManager
+ * only runs when a browser is seen for the first time or was updated.
+ * Each entry records the driver path and SHA-256 together with the size and
+ * modification time of the browser binary it was resolved for; an entry is
+ * used as long as the driver still matches its checksum and the browser
+ * binary is unchanged. When the browser path is unknown an update cannot be
+ * detected, so callers {@link #invalidate} an entry whose driver fails to
+ * create a session.
+ */
+public class DriverResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverResolver.class);
+
+    private final Path manifestFile;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<String> verified = new HashSet<>();
+    private final Set<String> resolvedHere = new HashSet<>();
+
+    public DriverResolver(Path manifestFile) {
+        this.manifestFile = manifestFile;
+    }
+
+    /**
+     * Get the driver binary for a browser, resolving it with WebDriverManager on a manifest miss.
+     *
+     * @param browser chrome, firefox or edge
+     */
+    public synchronized String resolve(String browser) {
+        ObjectNode manifest = readManifest();
+        JsonNode entry = manifest.get(browser);
+        if (entry != null && isCurrent(entry)) {
+            logger.debug("Using cached {} driver {}", browser, entry.get("driverPath").asText());
+            return entry.get("driverPath").asText();
+        }
+
+        WebDriverManager manager = createManager(browser);
+        try {
+            manager.setup();
+        } catch (RuntimeException e) {
+            // Offline hosts keep working with the last driver that still verifies
+            if (entry != null && isDriverIntact(entry)) {
+                logger.warn("Could not resolve {} driver ({}), using cached {}", browser, e.getMessage(), entry.get("driverPath").asText());
+                return entry.get("driverPath").asText();
+            }
+            throw e;
+        }
+
+        String driverPath = manager.getDownloadedDriverPath();
+        resolvedHere.add(browser + ":" + driverPath);
+        ObjectNode resolved = manifest.putObject(browser);
+        resolved.put("driverPath", driverPath);
+        resolved.put("driverVersion", manager.getDownloadedDriverVersion());
+        resolved.put("sha256", sha256(Paths.get(driverPath)));
+        Optional<Path> browserPath = manager.getBrowserPath();
+        if (browserPath.isPresent()) {
+            resolved.put("browserPath", browserPath.get().toString());
+            putFingerprint(resolved, "browser", browserPath.get());
+        }
+        resolved.put("resolvedAt", System.currentTimeMillis());
+        writeManifest(manifest);
+
+        logger.info("Resolved {} driver {} ({})", browser, driverPath, manager.getDownloadedDriverVersion());
+        return driverPath;
+    }
+
+    /**
+     * Drop a browser's manifest entry if it still names the given driver and was
+     * not resolved by this process, so the next {@link #resolve} runs WebDriverManager.
+     *
+     * @return whether the entry was dropped
+     */
+    public synchronized boolean invalidate(String browser, String driverPath) {
+        if (resolvedHere.contains(browser + ":" + driverPath)) {
+            return false;
+        }
+        ObjectNode manifest = readManifest();
+        JsonNode entry = manifest.get(browser);
+        if (entry == null || !entry.path("driverPath").asText().equals(driverPath)) {
+            return false;
+        }
+        manifest.remove(browser);
+        writeManifest(manifest);
+        logger.info("Dropped cached {} driver {}", browser, driverPath);
+        return true;
+    }
+
+    private static WebDriverManager createManager(String browser) {
+        switch (browser) {
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    private boolean isCurrent(JsonNode entry) {
+        if (!isDriverIntact(entry)) {
+            return false;
+        }
+        if (!entry.has("browserPath")) {
+            return true;
+        }
+
+        // A browser update replaces the binary, which changes its size or modification time
+        try {
+            Path browserPath = Paths.get(entry.get("browserPath").asText());
+            return Files.size(browserPath) == entry.path("browserSize").asLong()
+                    && Files.getLastModifiedTime(browserPath).toMillis() == entry.path("browserModified").asLong();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean isDriverIntact(JsonNode entry) {
+        Path driverPath = Paths.get(entry.path("driverPath").asText());
+        if (!Files.isRegularFile(driverPath)) {
+            return false;
+        }
+
+        // Hash each driver file once per process; later calls only compare the fingerprint
+        try {
+            String key = driverPath + ":" + Files.size(driverPath) + ":" + Files.getLastModifiedTime(driverPath).toMillis();
+            if (verified.contains(key)) {
+                return true;
+            }
+            if (sha256(driverPath).equals(entry.path("sha256").asText())) {
+                verified.add(key);
+                return true;
+            }
+            logger.warn("Checksum mismatch for cached driver {}", driverPath);
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Could not verify cached driver {}: {}", driverPath, e.getMessage());
+        }
+        return false;
+    }
+
+    private static void putFingerprint(ObjectNode entry, String prefix, Path file) {
+        try {
+            entry.put(prefix + "Size", Files.size(file));
+            entry.put(prefix + "Modified", Files.getLastModifiedTime(file).toMillis());
+        } catch (IOException e) {
+            logger.debug("Could not read {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String sha256(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash " + file, e);
+        }
+    }
+
+    private ObjectNode readManifest() {
+        if (Files.isRegularFile(manifestFile)) {
+            try {
+                JsonNode manifest = objectMapper.readTree(manifestFile.toFile());
+                if (manifest instanceof ObjectNode) {
+                    return (ObjectNode) manifest;
+                }
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable driver manifest {}: {}", manifestFile, e.getMessage());
+            }
+        }
+        return objectMapper.createObjectNode();
+    }
+
+    private void writeManifest(ObjectNode manifest) {
+        // Write to a temporary file first so concurrent servers never read a partial manifest
+        try {
+            Files.createDirectories(manifestFile.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(manifestFile.toAbsolutePath().getParent(), "drivers", ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifest);
+            Files.move(temp, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write driver manifest {}: {}", manifestFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.selenium.mcp.server.driver;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Named bundles of browser flags, preferences and page load strategy that trade
+ * fidelity to a regular browser for launch time and throughput.
+ * <ul>
+ *   <li>{@code faithful}: the browser's own defaults, pages load fully.</li>
+ *   <li>{@code balanced}: no background networking, component updates, extensions,
+ *       sync or GPU; rendering is unchanged.</li>
+ *   <li>{@code fast}: balanced, plus no images and no smooth scrolling, and tools
+ *       return once the DOM is ready instead of waiting for subresources.</li>
+ * </ul>
+ */
+public class LaunchProfile {
+    public static final String FAST = "fast";
+    public static final String BALANCED = "balanced";
+    public static final String FAITHFUL = "faithful";
+    public static final List<String> PROFILES = List.of(FAST, BALANCED, FAITHFUL);
+
+    private static final List<String> BALANCED_CHROMIUM_ARGS = List.of(
+            "--disable-background-networking",
+            "--disable-component-update",
+            "--disable-extensions",
+            "--disable-sync",
+            "--disable-default-apps",
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--disable-gpu",
+            "--disable-features=Translate,OptimizationHints,MediaRouter",
+            "--metrics-recording-only",
+            "--mute-audio");
+    private static final List<String> FAST_CHROMIUM_ARGS = List.of(
+            "--disable-smooth-scrolling",
+            "--blink-settings=imagesEnabled=false");
+
+    private LaunchProfile() {
+    }
+
+    /**
+     * Apply a profile to Chrome or Edge options.
+     */
+    public static void apply(String profile, ChromiumOptions<?> options) {
+        if (profile.equals(FAITHFUL)) {
+            return;
+        }
+
+        options.addArguments(BALANCED_CHROMIUM_ARGS);
+        if (profile.equals(FAST)) {
+            options.addArguments(FAST_CHROMIUM_ARGS);
+            Map<String, Object> prefs = new LinkedHashMap<>();
+            prefs.put("profile.managed_default_content_settings.images", 2);
+            options.setExperimentalOption("prefs", prefs);
+        }
+        applyPageLoadStrategy(profile, options);
+    }
+
+    /**
+     * Apply a profile to Firefox options.
+     */
+    public static void apply(String profile, FirefoxOptions options) {
+        if (profile.equals(FAITHFUL)) {
+            return;
+        }
+
+        options.addPreference("app.update.auto", false);
+        options.addPreference("extensions.update.enabled", false);
+        options.addPreference("browser.search.update", false);
+        options.addPreference("network.captive-portal-service.enabled", false);
+        options.addPreference("browser.safebrowsing.update.enabled", false);
+        options.addPreference("layers.acceleration.disabled", true);
+        options.addPreference("media.volume_scale", "0.0");
+        if (profile.equals(FAST)) {
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("general.smoothScroll", false);
+        }
+        applyPageLoadStrategy(profile, options);
+    }
+
+    /**
+     * Apply the profile's page load strategy to options of any browser.
+     */
+    public static void applyPageLoadStrategy(String profile, AbstractDriverOptions<?> options) {
+        if (profile.equals(FAST)) {
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+    }
+}
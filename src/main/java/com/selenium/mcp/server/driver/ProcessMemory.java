@@ -0,0 +1,135 @@
+package com.selenium.mcp.server.driver;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.Connection;
+import org.openqa.selenium.devtools.SeleniumCdpConnection;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the resident memory of a browser and all its child processes
+ * (renderers, GPU and utility processes), for recycling browsers that have
+ * grown too large, and of the processes a load test starts. Memory is read
+ * with ps, so it is only available on Linux and macOS.
+ */
+public final class ProcessMemory {
+    private static final Logger logger = LoggerFactory.getLogger(ProcessMemory.class);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private ProcessMemory() {
+    }
+
+    /**
+     * Find the process ID of the driver's browser. Firefox reports it as a
+     * capability; Chromium browsers report it through SystemInfo.getProcessInfo
+     * on a browser-level DevTools connection.
+     *
+     * @return the process ID, or -1 if the browser does not report it
+     */
+    public static long findBrowserPid(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return -1;
+        }
+        Object firefoxPid = ((HasCapabilities) driver).getCapabilities().getCapability("moz:processID");
+        if (firefoxPid instanceof Number) {
+            return ((Number) firefoxPid).longValue();
+        }
+
+        Optional<Connection> connection;
+        try {
+            connection = SeleniumCdpConnection.create(driver);
+        } catch (Exception e) {
+            logger.debug("Could not connect to the browser for its process ID: {}", e.getMessage());
+            return -1;
+        }
+        if (connection.isEmpty()) {
+            return -1;
+        }
+        try {
+            Map<String, Object> result = connection.get().sendAndWait(null,
+                    new Command<>("SystemInfo.getProcessInfo", new LinkedHashMap<>(), Json.MAP_TYPE), TIMEOUT);
+            Object processes = result != null ? result.get("processInfo") : null;
+            if (processes instanceof List) {
+                for (Object process : (List<?>) processes) {
+                    Map<?, ?> info = (Map<?, ?>) process;
+                    if ("browser".equals(info.get("type")) && info.get("id") instanceof Number) {
+                        return ((Number) info.get("id")).longValue();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Could not get the browser process ID: {}", e.getMessage());
+        } finally {
+            connection.get().close();
+        }
+        return -1;
+    }
+
+    /**
+     * Sum the resident memory of a process and its descendants.
+     *
+     * @return bytes, or -1 if the process is gone or memory cannot be read on this platform
+     */
+    public static long residentBytes(long pid) {
+        Optional<ProcessHandle> root = ProcessHandle.of(pid);
+        if (root.isEmpty()) {
+            return -1;
+        }
+        return residentBytes(Stream.concat(Stream.of(root.get()), root.get().descendants()));
+    }
+
+    /**
+     * Sum the resident memory of the given processes.
+     *
+     * @return bytes, 0 if there are no processes, or -1 if memory cannot be read on this platform
+     */
+    public static long residentBytes(Stream<ProcessHandle> processes) {
+        if (System.getProperty("os.name").toLowerCase().contains("win")) {
+            return -1;
+        }
+        String pids = processes
+                .map(process -> String.valueOf(process.pid()))
+                .collect(Collectors.joining(","));
+        if (pids.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", pids).redirectErrorStream(true).start();
+            long kilobytes = 0;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(ps.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        kilobytes += Long.parseLong(line);
+                    }
+                }
+            }
+            // ps exits with 1 when some of the processes exited in the meantime
+            ps.waitFor();
+            return kilobytes * 1024;
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("Could not read memory of processes {}: {}", pids, e.getMessage());
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+}
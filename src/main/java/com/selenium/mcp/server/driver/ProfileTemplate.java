@@ -0,0 +1,234 @@
+package com.selenium.mcp.server.driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A browser profile prepared once and cloned for every session, so sessions
+ * are isolated from each other but start with warm caches and settled first-run
+ * state. Clones are made with copy-on-write reflinks where the filesystem
+ * supports them (cp --reflink on Linux, clonefile on macOS) and copied file by
+ * file otherwise, which is fast when the clone directory is on tmpfs.
+ * Hardlinks are not used: browsers update SQLite databases in place, which
+ * would write through to the template.
+ * The template directory is only ever emptied if it is empty already or was
+ * created as a template by this server, so pointing it at a real browser
+ * profile cannot wipe that profile.
+ */
+public class ProfileTemplate {
+    private static final Logger logger = LoggerFactory.getLogger(ProfileTemplate.class);
+    private static final String MARKER = ".selenium-mcp-template";
+    // Written before the warm-up, so a template whose preparation was interrupted can be reset
+    private static final String OWNED = ".selenium-mcp-template-owned";
+    private static final String CLONE_PREFIX = "selenium-mcp-profile-";
+    private static final Set<String> LOCK_FILES = Set.of(
+            "SingletonLock", "SingletonSocket", "SingletonCookie", "lockfile", "parent.lock", ".parentlock", "lock");
+
+    private final Path template;
+    private final Path cloneDir;
+    private volatile boolean reflinkUnsupported;
+
+    /**
+     * @param template directory holding the template profile
+     * @param cloneDir directory to create session clones in
+     */
+    public ProfileTemplate(Path template, Path cloneDir) {
+        this.template = template;
+        this.cloneDir = cloneDir;
+    }
+
+    public Path getTemplate() {
+        return template;
+    }
+
+    /**
+     * Check whether the template was fully prepared by an earlier warm-up.
+     */
+    public boolean isPrepared() {
+        return Files.isRegularFile(template.resolve(MARKER));
+    }
+
+    /**
+     * Empty the template directory for a new warm-up.
+     *
+     * @throws IOException if the directory holds files but was not created as a template
+     */
+    public void reset() throws IOException {
+        if (!isEmpty(template) && !Files.exists(template.resolve(OWNED)) && !isPrepared()) {
+            throw new IOException("Refusing to delete " + template
+                    + ": it is not empty and was not created as a profile template; choose an empty or new directory");
+        }
+        delete(template);
+        Files.createDirectories(template);
+        Files.write(template.resolve(OWNED), new byte[0]);
+    }
+
+    private static boolean isEmpty(Path dir) throws IOException {
+        if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            return true;
+        }
+        if (!Files.isDirectory(dir, LinkOption.NOFOLLOW_LINKS)) {
+            return false;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            return !files.iterator().hasNext();
+        }
+    }
+
+    /**
+     * Mark the template as prepared, once the browser that warmed it has quit.
+     */
+    public void markPrepared() throws IOException {
+        Files.write(template.resolve(MARKER), new byte[0]);
+    }
+
+    /**
+     * Create a private copy of the template for one session.
+     */
+    public Path cloneProfile() throws IOException {
+        Files.createDirectories(cloneDir);
+        Path clone = Files.createTempDirectory(cloneDir, CLONE_PREFIX + ProcessHandle.current().pid() + "-");
+        long start = System.nanoTime();
+        boolean reflinked = !reflinkUnsupported && reflink(clone);
+        if (!reflinked) {
+            copy(clone);
+        }
+        Files.deleteIfExists(clone.resolve(MARKER));
+        Files.deleteIfExists(clone.resolve(OWNED));
+        logger.info("Cloned profile template into {} in {} ms ({})", clone,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), reflinked ? "reflink" : "copy");
+        return clone;
+    }
+
+    private boolean reflink(Path clone) {
+        String os = System.getProperty("os.name").toLowerCase();
+        List<String> command;
+        if (os.contains("linux")) {
+            command = List.of("cp", "-a", "--reflink=always", template + "/.", clone.toString());
+        } else if (os.contains("mac")) {
+            command = List.of("cp", "-c", "-R", "-p", template + "/.", clone.toString());
+        } else {
+            reflinkUnsupported = true;
+            return false;
+        }
+
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+            if (process.waitFor() == 0) {
+                removeLocks(clone);
+                return true;
+            }
+        } catch (IOException e) {
+            logger.debug("Could not run cp: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The filesystem cannot clone files; do not try again for every session
+        logger.info("Filesystem at {} does not support reflinks, copying profile templates instead", cloneDir);
+        reflinkUnsupported = true;
+        delete(clone);
+        try {
+            Files.createDirectories(clone);
+        } catch (IOException e) {
+            logger.debug("Could not recreate {}: {}", clone, e.getMessage());
+        }
+        return false;
+    }
+
+    private void copy(Path clone) throws IOException {
+        Files.walkFileTree(template, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(clone.resolve(template.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                // Lock files and sockets belong to the browser that prepared the template
+                if (attrs.isRegularFile() && !LOCK_FILES.contains(file.getFileName().toString())) {
+                    Files.copy(file, clone.resolve(template.relativize(file).toString()),
+                            StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void removeLocks(Path clone) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(clone)) {
+            for (Path file : files) {
+                if (LOCK_FILES.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete clones left behind by server processes that are no longer running.
+     */
+    public void removeStaleClones() {
+        if (!Files.isDirectory(cloneDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> clones = Files.newDirectoryStream(cloneDir, CLONE_PREFIX + "*")) {
+            for (Path clone : clones) {
+                String rest = clone.getFileName().toString().substring(CLONE_PREFIX.length());
+                int separator = rest.indexOf('-');
+                try {
+                    long pid = Long.parseLong(separator > 0 ? rest.substring(0, separator) : rest);
+                    if (ProcessHandle.of(pid).isEmpty()) {
+                        logger.info("Deleting stale profile clone {}", clone);
+                        delete(clone);
+                    }
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Could not list {}: {}", cloneDir, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete a profile directory, ignoring files that cannot be removed.
+     */
+    public static void delete(Path dir) {
+        if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.deleteIfExists(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+                    Files.deleteIfExists(directory);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not fully delete {}: {}", dir, e.getMessage());
+        }
+    }
+}
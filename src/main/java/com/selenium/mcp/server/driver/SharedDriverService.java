@@ -0,0 +1,254 @@
+package com.selenium.mcp.server.driver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * One long-lived driver process (chromedriver, geckodriver or msedgedriver)
+ * that all sessions of a browser are created against, instead of a new
+ * process and port per session. The service is started on first use, checked
+ * through its /status endpoint before each session and periodically in the
+ * background, and restarted when it stops responding.
+ * Sessions must be created with a RemoteWebDriver on {@link #getUrl()}, since
+ * quitting a local driver class stops the service it was created with.
+ */
+public class SharedDriverService {
+    private static final Logger logger = LoggerFactory.getLogger(SharedDriverService.class);
+    private static final Duration STATUS_TIMEOUT = Duration.ofSeconds(2);
+    private static final long CHECK_INTERVAL_SECONDS = 30;
+
+    private final String browser;
+    private final Supplier<String> driverPath;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(STATUS_TIMEOUT).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private DriverService service;
+    private String startedWith;
+    private ScheduledExecutorService healthChecker;
+    private int restarts;
+
+    /**
+     * @param browser    chrome, firefox or edge
+     * @param driverPath supplies the driver binary when the service is (re)started
+     */
+    public SharedDriverService(String browser, Supplier<String> driverPath) {
+        this.browser = browser;
+        this.driverPath = driverPath;
+    }
+
+    /**
+     * Get the URL of the running service, starting or restarting it if needed.
+     */
+    public synchronized URL getUrl() throws IOException {
+        if (service != null && !isHealthy()) {
+            logger.warn("{} driver service at {} is not responding, restarting it", browser, service.getUrl());
+            stopService();
+            restarts++;
+        }
+        if (service == null) {
+            startService();
+        }
+        return service.getUrl();
+    }
+
+    /**
+     * Get the number of times the service was restarted after failing a health check.
+     */
+    public synchronized int getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Check that the service process is alive and answers its status endpoint.
+     */
+    public synchronized boolean isHealthy() {
+        if (service == null || !service.isRunning()) {
+            return false;
+        }
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(service.getUrl() + "/status"))
+                    .timeout(STATUS_TIMEOUT)
+                    .GET()
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Check whether a session's browser still answers, by listing its window
+     * handles. Unlike most commands this does not touch an open alert, confirm
+     * or prompt. Only a failed connection, a timeout or an "invalid session id"
+     * error count as dead; any other WebDriver error, such as "no such window"
+     * or "unexpected alert open", was answered by a live browser.
+     */
+    public boolean probeSession(String sessionId) {
+        URL url;
+        synchronized (this) {
+            if (service == null || !service.isRunning()) {
+                return false;
+            }
+            url = service.getUrl();
+        }
+        try {
+            HttpResponse<String> response = get(url + "/session/" + sessionId + "/window/handles");
+            if (response.statusCode() == 200) {
+                return true;
+            }
+            String error = getError(response);
+            logger.debug("{} session {} answered {}: {}", browser, sessionId, response.statusCode(), response.body());
+            return error != null && !error.equals("invalid session id");
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Get the URL of a session's current window, unless a user prompt is open,
+     * since reading the URL would dismiss it.
+     *
+     * @return the URL, or null if a prompt is open or the session did not answer
+     */
+    public String getSessionUrl(String sessionId) {
+        URL url;
+        synchronized (this) {
+            if (service == null || !service.isRunning()) {
+                return null;
+            }
+            url = service.getUrl();
+        }
+        try {
+            String session = url + "/session/" + sessionId;
+            if (!"no such alert".equals(getError(get(session + "/alert/text")))) {
+                return null;
+            }
+            HttpResponse<String> response = get(session + "/url");
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            JsonNode value = objectMapper.readTree(response.body()).get("value");
+            return value != null && value.isTextual() ? value.asText() : "";
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpResponse<String> get(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(STATUS_TIMEOUT)
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Get the WebDriver error code of a response, or null if it is not a WebDriver error.
+     */
+    private String getError(HttpResponse<String> response) {
+        try {
+            JsonNode error = objectMapper.readTree(response.body()).path("value").get("error");
+            return error != null && error.isTextual() ? error.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the driver binary the running service was started with, or null if it is not running.
+     */
+    public synchronized String getDriverPath() {
+        return service != null ? startedWith : null;
+    }
+
+    /**
+     * Check whether sessions at the given URL were created on this service while it runs.
+     */
+    public synchronized boolean serves(URL url) {
+        return service != null && service.isRunning() && service.getUrl().toString().equals(url.toString());
+    }
+
+    private void startService() throws IOException {
+        startedWith = driverPath.get();
+        File executable = new File(startedWith);
+        switch (browser) {
+            case "firefox":
+                service = new GeckoDriverService.Builder().usingDriverExecutable(executable).usingAnyFreePort().build();
+                break;
+            case "edge":
+                service = new EdgeDriverService.Builder().usingDriverExecutable(executable).usingAnyFreePort().build();
+                break;
+            default:
+                service = new ChromeDriverService.Builder().usingDriverExecutable(executable).usingAnyFreePort().build();
+                break;
+        }
+        service.start();
+        logger.info("Started shared {} driver service at {}", browser, service.getUrl());
+
+        if (healthChecker == null) {
+            healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "driver-service-health");
+                thread.setDaemon(true);
+                return thread;
+            });
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void checkHealth() {
+        try {
+            getUrl();
+        } catch (Exception e) {
+            logger.error("Could not restart {} driver service: {}", browser, e.getMessage());
+        }
+    }
+
+    private void stopService() {
+        try {
+            service.stop();
+        } catch (Exception e) {
+            logger.debug("Error stopping {} driver service: {}", browser, e.getMessage());
+        }
+        service = null;
+    }
+
+    /**
+     * Stop the service and its health checks.
+     */
+    public synchronized void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+        if (service != null) {
+            stopService();
+        }
+    }
+}
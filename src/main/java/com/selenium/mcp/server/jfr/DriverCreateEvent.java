@@ -0,0 +1,25 @@
+package com.selenium.mcp.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the creation of a WebDriver session, including browser startup.
+ */
+@Name("selenium.mcp.DriverCreate")
+@Label("Driver Create")
+@Category("Selenium MCP")
+@Description("A WebDriver session was created")
+public class DriverCreateEvent extends Event {
+    @Label("Browser")
+    public String browser;
+
+    @Label("Headless")
+    public boolean headless;
+
+    @Label("Session")
+    public String session;
+}
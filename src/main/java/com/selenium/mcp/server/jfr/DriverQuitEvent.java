@@ -0,0 +1,22 @@
+package com.selenium.mcp.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the shutdown of a WebDriver session.
+ */
+@Name("selenium.mcp.DriverQuit")
+@Label("Driver Quit")
+@Category("Selenium MCP")
+@Description("A WebDriver session was quit")
+public class DriverQuitEvent extends Event {
+    @Label("Browser")
+    public String browser;
+
+    @Label("Session")
+    public String session;
+}
@@ -0,0 +1,23 @@
+package com.selenium.mcp.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering the capture of a page snapshot.
+ */
+@Name("selenium.mcp.Snapshot")
+@Label("Snapshot")
+@Category("Selenium MCP")
+@Description("An accessibility snapshot of a page was captured")
+public class SnapshotEvent extends Event {
+    @Label("URL")
+    public String url;
+
+    @Label("Nodes")
+    @Description("Nodes in the returned snapshot tree")
+    public int nodes;
+}
@@ -0,0 +1,34 @@
+package com.selenium.mcp.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering a tool call from request to response.
+ */
+@Name("selenium.mcp.ToolCall")
+@Label("Tool Call")
+@Category("Selenium MCP")
+@Description("A tool call handled by the MCP server")
+public class ToolCallEvent extends Event {
+    @Label("Tool")
+    public String tool;
+
+    @Label("Call ID")
+    public String callId;
+
+    @Label("Session")
+    @Description("WebDriver session the call ran against")
+    public String session;
+
+    @Label("Success")
+    public boolean success;
+
+    @Label("Response Size")
+    @DataAmount
+    public long bytesOut;
+}
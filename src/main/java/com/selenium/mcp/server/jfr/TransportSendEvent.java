@@ -0,0 +1,25 @@
+package com.selenium.mcp.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering a message handed to the transport.
+ * Over SSE the write completes asynchronously, so the duration covers queueing only.
+ */
+@Name("selenium.mcp.TransportSend")
+@Label("Transport Send")
+@Category("Selenium MCP")
+@Description("A message was sent to the client")
+public class TransportSendEvent extends Event {
+    @Label("Transport")
+    public String transport;
+
+    @Label("Message Size")
+    @DataAmount
+    public long bytes;
+}
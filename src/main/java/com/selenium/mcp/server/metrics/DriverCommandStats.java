@@ -0,0 +1,259 @@
+package com.selenium.mcp.server.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts and times WebDriver calls made through a driver wrapped with
+ * {@link org.openqa.selenium.support.events.EventFiringDecorator}.
+ * Calls are attributed to the current session and to the scope open on the
+ * calling thread, which the tool registry opens around each tool call.
+ * Accessors answered locally, such as manage() or getCapabilities(), are not counted.
+ */
+public class DriverCommandStats implements WebDriverListener {
+    private static final Set<String> LOCAL_CALLS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "logs",
+            "getCapabilities", "getSessionId", "getDevTools", "maybeGetDevTools", "getBiDi", "maybeGetBiDi",
+            "getWrappedDriver", "getWrappedElement", "getId", "toString", "hashCode", "equals");
+    private static final Set<String> NAVIGATIONS = Set.of("to", "back", "forward", "refresh");
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    private final ThreadLocal<Deque<Long>> started = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<String, CommandStats> commands = new ConcurrentHashMap<>();
+    private final AtomicLong sessionCommands = new AtomicLong();
+    private final AtomicLong sessionNanos = new AtomicLong();
+    private final AtomicLong sessionNavigations = new AtomicLong();
+    private final AtomicLong callsStarted = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long sessionStartedAt = System.currentTimeMillis();
+
+    /**
+     * Start counting the current thread's driver calls.
+     */
+    public static Scope openScope() {
+        Scope scope = new Scope(SCOPE.get());
+        SCOPE.set(scope);
+        return scope;
+    }
+
+    /**
+     * Reset the per-session totals when a new driver session starts.
+     * Per-command counters keep accumulating across sessions.
+     */
+    public void startSession() {
+        sessionCommands.set(0);
+        sessionNanos.set(0);
+        sessionNavigations.set(0);
+        sessionStartedAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isCommand(method, args)) {
+            started.get().push(System.nanoTime());
+            callsStarted.incrementAndGet();
+            inFlight.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (isCommand(method, args)) {
+            record(method, false);
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (isCommand(method, args)) {
+            record(method, true);
+        }
+    }
+
+    private static boolean isCommand(Method method, Object[] args) {
+        String name = method.getName();
+        // Options.window() is an accessor, TargetLocator.window(handle) is a command
+        if (name.equals("window") && (args == null || args.length == 0)) {
+            return false;
+        }
+        return !LOCAL_CALLS.contains(name);
+    }
+
+    /**
+     * Check whether a call loads a page: WebDriver.get or a WebDriver.Navigation
+     * method. Other interfaces have methods of the same names, e.g. refresh.
+     */
+    private static boolean isNavigation(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        String name = method.getName();
+        return declaringClass == WebDriver.class && name.equals("get")
+                || declaringClass == WebDriver.Navigation.class && NAVIGATIONS.contains(name);
+    }
+
+    private void record(Method method, boolean failed) {
+        Long start = started.get().poll();
+        if (start == null) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        long nanos = System.nanoTime() - start;
+
+        String command = method.getName();
+        CommandStats stats = commands.computeIfAbsent(command, name -> new CommandStats());
+        stats.calls.incrementAndGet();
+        stats.nanos.addAndGet(nanos);
+        if (failed) {
+            stats.errors.incrementAndGet();
+            errors.incrementAndGet();
+        }
+
+        sessionCommands.incrementAndGet();
+        sessionNanos.addAndGet(nanos);
+        if (isNavigation(method)) {
+            sessionNavigations.incrementAndGet();
+        }
+
+        for (Scope scope = SCOPE.get(); scope != null; scope = scope.parent) {
+            scope.commands++;
+            scope.nanos += nanos;
+        }
+    }
+
+    /**
+     * Get the number of navigations (get, back, forward, refresh) in the current session.
+     */
+    public long getSessionNavigations() {
+        return sessionNavigations.get();
+    }
+
+    /**
+     * Get the time since the current session started, in milliseconds.
+     */
+    public long getSessionAgeMs() {
+        return System.currentTimeMillis() - sessionStartedAt;
+    }
+
+    /**
+     * Get the number of driver calls started so far, across sessions.
+     */
+    public long getStarted() {
+        return callsStarted.get();
+    }
+
+    /**
+     * Get the number of driver calls that failed so far, across sessions.
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Get the number of driver calls currently waiting for the driver.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Convert the session totals and per-command counters to JSON.
+     */
+    public ObjectNode toJson(ObjectMapper objectMapper) {
+        ObjectNode result = objectMapper.createObjectNode();
+        ObjectNode session = result.putObject("session");
+        session.put("commands", sessionCommands.get());
+        session.put("driverMs", sessionNanos.get() / 1_000_000.0);
+        session.put("navigations", sessionNavigations.get());
+        session.put("ageMs", System.currentTimeMillis() - sessionStartedAt);
+
+        ObjectNode byCommand = result.putObject("commands");
+        for (Map.Entry<String, CommandStats> entry : new TreeMap<>(commands).entrySet()) {
+            CommandStats stats = entry.getValue();
+            ObjectNode node = byCommand.putObject(entry.getKey());
+            node.put("calls", stats.calls.get());
+            node.put("errors", stats.errors.get());
+            node.put("totalMs", stats.nanos.get() / 1_000_000.0);
+        }
+        return result;
+    }
+
+    /**
+     * Append the per-command counters in Prometheus text exposition format.
+     */
+    public void writePrometheus(StringBuilder out) {
+        Map<String, CommandStats> sorted = new TreeMap<>(commands);
+
+        out.append("# HELP mcp_driver_commands_total WebDriver calls by command.\n");
+        out.append("# TYPE mcp_driver_commands_total counter\n");
+        for (Map.Entry<String, CommandStats> entry : sorted.entrySet()) {
+            out.append("mcp_driver_commands_total{command=\"").append(entry.getKey()).append("\"} ")
+                    .append(entry.getValue().calls.get()).append('\n');
+        }
+
+        out.append("# HELP mcp_driver_command_errors_total Failed WebDriver calls by command.\n");
+        out.append("# TYPE mcp_driver_command_errors_total counter\n");
+        for (Map.Entry<String, CommandStats> entry : sorted.entrySet()) {
+            out.append("mcp_driver_command_errors_total{command=\"").append(entry.getKey()).append("\"} ")
+                    .append(entry.getValue().errors.get()).append('\n');
+        }
+
+        out.append("# HELP mcp_driver_command_seconds_total Time spent in WebDriver calls by command.\n");
+        out.append("# TYPE mcp_driver_command_seconds_total counter\n");
+        for (Map.Entry<String, CommandStats> entry : sorted.entrySet()) {
+            out.append("mcp_driver_command_seconds_total{command=\"").append(entry.getKey()).append("\"} ")
+                    .append(entry.getValue().nanos.get() / 1_000_000_000.0).append('\n');
+        }
+    }
+
+    /**
+     * Driver calls made by one thread between {@link #openScope()} and {@link #close()}.
+     * Nested scopes also count towards their parents.
+     */
+    public static class Scope implements AutoCloseable {
+        private final Scope parent;
+        private long commands;
+        private long nanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public void close() {
+            if (SCOPE.get() == this) {
+                if (parent != null) {
+                    SCOPE.set(parent);
+                } else {
+                    SCOPE.remove();
+                }
+            }
+        }
+    }
+
+    private static class CommandStats {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+    }
+}
@@ -0,0 +1,170 @@
+package com.selenium.mcp.server.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Per-tool latency, outcome, concurrency and response size metrics.
+ * Response sizes are measured in characters of the serialized JSON message.
+ */
+public class ToolMetrics {
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final Map<String, ToolStats> stats = new ConcurrentHashMap<>();
+    private final long startedAt = System.currentTimeMillis();
+
+    /**
+     * Mark the start of a tool call.
+     *
+     * @return the start time to pass to {@link #finish}
+     */
+    public long start(String tool) {
+        statsFor(tool).inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Mark the end of a tool call started with {@link #start}.
+     */
+    public void finish(String tool, long startNanos, boolean success) {
+        ToolStats toolStats = statsFor(tool);
+        toolStats.latencyMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        toolStats.inFlight.decrementAndGet();
+        (success ? toolStats.successes : toolStats.errors).incrementAndGet();
+    }
+
+    /**
+     * Record the size of a serialized tool response.
+     */
+    public void recordPayload(String tool, long chars) {
+        statsFor(tool).payloadChars.record(chars);
+    }
+
+    /**
+     * Record the WebDriver calls made by a tool call and the time spent in them.
+     */
+    public void recordDriverCommands(String tool, long commands, long nanos) {
+        ToolStats toolStats = statsFor(tool);
+        toolStats.driverCommands.record(commands);
+        toolStats.driverMicros.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    private ToolStats statsFor(String tool) {
+        return stats.computeIfAbsent(tool, name -> new ToolStats());
+    }
+
+    /**
+     * Convert the metrics to JSON, with latencies in milliseconds.
+     */
+    public ObjectNode toJson(ObjectMapper objectMapper) {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("uptimeMs", System.currentTimeMillis() - startedAt);
+        ObjectNode tools = result.putObject("tools");
+
+        for (Map.Entry<String, ToolStats> entry : new TreeMap<>(stats).entrySet()) {
+            ToolStats toolStats = entry.getValue();
+            ObjectNode node = tools.putObject(entry.getKey());
+            node.put("calls", toolStats.latencyMicros.getCount());
+            node.put("errors", toolStats.errors.get());
+            node.put("inFlight", toolStats.inFlight.get());
+
+            ObjectNode latency = node.putObject("latencyMs");
+            latency.put("p50", toolStats.latencyMicros.getValueAtQuantile(0.5) / 1000.0);
+            latency.put("p95", toolStats.latencyMicros.getValueAtQuantile(0.95) / 1000.0);
+            latency.put("p99", toolStats.latencyMicros.getValueAtQuantile(0.99) / 1000.0);
+            latency.put("max", toolStats.latencyMicros.getMax() / 1000.0);
+
+            ObjectNode payload = node.putObject("responseChars");
+            payload.put("p50", toolStats.payloadChars.getValueAtQuantile(0.5));
+            payload.put("p95", toolStats.payloadChars.getValueAtQuantile(0.95));
+            payload.put("max", toolStats.payloadChars.getMax());
+
+            ObjectNode commands = node.putObject("driverCommands");
+            commands.put("p50", toolStats.driverCommands.getValueAtQuantile(0.5));
+            commands.put("p95", toolStats.driverCommands.getValueAtQuantile(0.95));
+            commands.put("max", toolStats.driverCommands.getMax());
+
+            ObjectNode driverTime = node.putObject("driverMs");
+            driverTime.put("p50", toolStats.driverMicros.getValueAtQuantile(0.5) / 1000.0);
+            driverTime.put("p95", toolStats.driverMicros.getValueAtQuantile(0.95) / 1000.0);
+            driverTime.put("max", toolStats.driverMicros.getMax() / 1000.0);
+        }
+
+        return result;
+    }
+
+    /**
+     * Append the metrics in Prometheus text exposition format.
+     */
+    public void writePrometheus(StringBuilder out) {
+        Map<String, ToolStats> sorted = new TreeMap<>(stats);
+
+        out.append("# HELP mcp_tool_calls_total Completed tool calls by outcome.\n");
+        out.append("# TYPE mcp_tool_calls_total counter\n");
+        for (Map.Entry<String, ToolStats> entry : sorted.entrySet()) {
+            out.append("mcp_tool_calls_total{tool=\"").append(entry.getKey()).append("\",outcome=\"success\"} ")
+                    .append(entry.getValue().successes.get()).append('\n');
+            out.append("mcp_tool_calls_total{tool=\"").append(entry.getKey()).append("\",outcome=\"error\"} ")
+                    .append(entry.getValue().errors.get()).append('\n');
+        }
+
+        out.append("# HELP mcp_tool_in_flight Tool calls currently executing.\n");
+        out.append("# TYPE mcp_tool_in_flight gauge\n");
+        for (Map.Entry<String, ToolStats> entry : sorted.entrySet()) {
+            out.append("mcp_tool_in_flight{tool=\"").append(entry.getKey()).append("\"} ")
+                    .append(entry.getValue().inFlight.get()).append('\n');
+        }
+
+        writeSummary(out, "mcp_tool_duration_seconds", "Tool call latency.", sorted, stats -> stats.latencyMicros, true);
+        writeSummary(out, "mcp_tool_response_chars", "Serialized tool response size.", sorted, stats -> stats.payloadChars, false);
+        writeSummary(out, "mcp_tool_driver_commands", "WebDriver calls per tool call.", sorted, stats -> stats.driverCommands, false);
+        writeSummary(out, "mcp_tool_driver_seconds", "Time spent in WebDriver calls per tool call.", sorted, stats -> stats.driverMicros, true);
+    }
+
+    private static void writeSummary(StringBuilder out, String name, String help, Map<String, ToolStats> sorted,
+                                     Function<ToolStats, Histogram> histogramOf, boolean latency) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" summary\n");
+        for (Map.Entry<String, ToolStats> entry : sorted.entrySet()) {
+            Histogram histogram = histogramOf.apply(entry.getValue());
+            String labels = "tool=\"" + entry.getKey() + "\"";
+            for (double quantile : QUANTILES) {
+                out.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(scale(histogram.getValueAtQuantile(quantile), latency)).append('\n');
+            }
+            out.append(name).append("_sum{").append(labels).append("} ").append(scale(histogram.getSum(), latency)).append('\n');
+            out.append(name).append("_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+        }
+
+        // Maximums are a separate gauge family; summaries cannot carry them
+        out.append("# HELP ").append(name).append("_max Largest observed value. ").append(help).append('\n');
+        out.append("# TYPE ").append(name).append("_max gauge\n");
+        for (Map.Entry<String, ToolStats> entry : sorted.entrySet()) {
+            Histogram histogram = histogramOf.apply(entry.getValue());
+            out.append(name).append("_max{tool=\"").append(entry.getKey()).append("\"} ")
+                    .append(scale(histogram.getMax(), latency)).append('\n');
+        }
+    }
+
+    private static String scale(long value, boolean micros) {
+        return micros ? String.valueOf(value / 1_000_000.0) : String.valueOf(value);
+    }
+
+    private static class ToolStats {
+        private final Histogram latencyMicros = new Histogram();
+        private final Histogram payloadChars = new Histogram();
+        private final Histogram driverCommands = new Histogram();
+        private final Histogram driverMicros = new Histogram();
+        private final AtomicLong successes = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+    }
+}
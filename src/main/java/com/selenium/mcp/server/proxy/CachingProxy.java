@@ -0,0 +1,256 @@
+package com.selenium.mcp.server.proxy;
+
+import io.undertow.Undertow;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.ConnectHandler;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local forward proxy for plain HTTP that serves repeated GETs from a shared
+ * {@link HttpCache}, so a fresh browser profile does not download the same
+ * bundles again. Browsers only send http: URLs through it; https: traffic
+ * goes direct, since caching it would require intercepting TLS.
+ * Responses are stored as the origin sent them, including any content encoding.
+ * CONNECT requests, which browsers use for ws: connections through an HTTP
+ * proxy, are tunnelled to the target as a raw byte pipe.
+ */
+public class CachingProxy {
+    private static final Logger logger = LoggerFactory.getLogger(CachingProxy.class);
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "keep-alive", "proxy-connection", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade");
+    private static final Set<String> NOT_FORWARDED = Set.of("host", "content-length", "expect");
+    private static final HttpString X_CACHE = new HttpString("X-Cache");
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final HttpCache cache;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .proxy(HttpClient.Builder.NO_PROXY)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private Undertow server;
+    private int port;
+
+    public CachingProxy(HttpCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Start listening on a free loopback port.
+     */
+    public synchronized void start() {
+        server = Undertow.builder()
+                .addHttpListener(0, "127.0.0.1")
+                .setHandler(new ConnectHandler(this::handle))
+                .build();
+        server.start();
+        port = ((InetSocketAddress) server.getListenerInfo().get(0).getAddress()).getPort();
+        logger.info("HTTP cache proxy listening on 127.0.0.1:{}", port);
+    }
+
+    /**
+     * Get the port to configure as the browsers' HTTP proxy.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    public HttpCache getCache() {
+        return cache;
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+
+    private void handle(HttpServerExchange exchange) throws Exception {
+        if (exchange.isInIoThread()) {
+            exchange.dispatch(this::handle);
+            return;
+        }
+        exchange.startBlocking();
+
+        String url = exchange.getRequestURL();
+        if (!exchange.isHostIncludedInRequestURI() || !url.startsWith("http://")) {
+            exchange.setStatusCode(400);
+            exchange.getResponseSender().send("Only proxy requests for http: URLs are accepted");
+            return;
+        }
+        if (!exchange.getQueryString().isEmpty()) {
+            url += "?" + exchange.getQueryString();
+        }
+
+        String method = exchange.getRequestMethod().toString();
+        boolean cacheable = method.equals("GET")
+                && !exchange.getRequestHeaders().contains(Headers.RANGE)
+                && !exchange.getRequestHeaders().contains(Headers.AUTHORIZATION)
+                && !exchange.getRequestHeaders().contains(Headers.IF_NONE_MATCH)
+                && !exchange.getRequestHeaders().contains(Headers.IF_MODIFIED_SINCE);
+
+        String acceptEncoding = exchange.getRequestHeaders().getFirst(Headers.ACCEPT_ENCODING);
+        HttpCache.Entry entry = cacheable ? cache.get(url, acceptEncoding) : null;
+        if (entry != null && entry.isFresh(System.currentTimeMillis())) {
+            InputStream body = cache.open(entry);
+            if (body != null) {
+                serveCached(exchange, entry, body, "HIT");
+                cache.recordHit(entry.getSize());
+                return;
+            }
+            entry = null;
+        }
+
+        HttpResponse<InputStream> response;
+        try {
+            response = client.send(buildRequest(exchange, url, method, entry), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            logger.debug("Proxy request to {} failed: {}", url, e.getMessage());
+            exchange.setStatusCode(502);
+            exchange.getResponseSender().send("Bad gateway: " + e.getMessage());
+            return;
+        }
+
+        if (entry != null && response.statusCode() == 304) {
+            response.body().close();
+            InputStream body = cache.open(entry);
+            if (body != null) {
+                cache.refresh(entry, response.headers().map());
+                serveCached(exchange, entry, body, "REVALIDATED");
+                cache.recordRevalidated(entry.getSize());
+                return;
+            }
+            // The cached body vanished; fetch it again without validators
+            response = client.send(buildRequest(exchange, url, method, null), HttpResponse.BodyHandlers.ofInputStream());
+        }
+
+        if (cacheable) {
+            cache.recordMiss();
+        }
+        relay(exchange, url, acceptEncoding, response, cacheable);
+    }
+
+    private HttpRequest buildRequest(HttpServerExchange exchange, String url, String method, HttpCache.Entry entry) {
+        long contentLength = exchange.getRequestContentLength();
+        boolean hasBody = contentLength > 0 || exchange.getRequestHeaders().contains(Headers.TRANSFER_ENCODING);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .method(method, hasBody
+                        ? HttpRequest.BodyPublishers.ofInputStream(exchange::getInputStream)
+                        : HttpRequest.BodyPublishers.noBody());
+
+        for (HeaderValues header : exchange.getRequestHeaders()) {
+            String name = header.getHeaderName().toString();
+            String lower = name.toLowerCase();
+            if (HOP_BY_HOP.contains(lower) || NOT_FORWARDED.contains(lower)) {
+                continue;
+            }
+            for (String value : header) {
+                try {
+                    builder.header(name, value);
+                } catch (IllegalArgumentException e) {
+                    // Some JDKs refuse to let callers set certain headers
+                    logger.debug("Not forwarding header {}: {}", name, e.getMessage());
+                }
+            }
+        }
+
+        if (entry != null) {
+            if (entry.getETag() != null) {
+                builder.header("If-None-Match", entry.getETag());
+            }
+            if (entry.getLastModified() != null) {
+                builder.header("If-Modified-Since", entry.getLastModified());
+            }
+        }
+        return builder.build();
+    }
+
+    private void relay(HttpServerExchange exchange, String url, String acceptEncoding,
+                       HttpResponse<InputStream> response, boolean cacheable) throws IOException {
+        Map<String, List<String>> headers = response.headers().map();
+        long freshUntil = cacheable ? HttpCache.freshUntil(response.statusCode(), headers, System.currentTimeMillis()) : -1;
+        HttpCache.Writer writer = freshUntil >= 0 ? cache.newWriter(url, acceptEncoding) : null;
+
+        exchange.setStatusCode(response.statusCode());
+        copyHeaders(headers, exchange);
+        exchange.getResponseHeaders().put(X_CACHE, "MISS");
+
+        // Hold back the last chunk until the entry is stored, so a request
+        // sent as soon as this response completes already finds it
+        try (InputStream in = response.body()) {
+            OutputStream out = exchange.getOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            byte[] held = new byte[BUFFER_SIZE];
+            int heldLength = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (writer != null && !writer.write(buffer, 0, read)) {
+                    writer = null;
+                }
+                out.write(held, 0, heldLength);
+                byte[] swap = held;
+                held = buffer;
+                buffer = swap;
+                heldLength = read;
+            }
+            if (writer != null) {
+                writer.commit(response.statusCode(), withoutHopByHop(headers), freshUntil);
+                writer = null;
+            }
+            out.write(held, 0, heldLength);
+        } finally {
+            if (writer != null) {
+                writer.abort();
+            }
+        }
+    }
+
+    private void serveCached(HttpServerExchange exchange, HttpCache.Entry entry, InputStream body, String result) throws IOException {
+        exchange.setStatusCode(entry.getStatus());
+        copyHeaders(entry.getHeaders(), exchange);
+        exchange.getResponseHeaders().put(X_CACHE, result);
+        try (InputStream in = body) {
+            in.transferTo(exchange.getOutputStream());
+        }
+    }
+
+    private static void copyHeaders(Map<String, List<String>> headers, HttpServerExchange exchange) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            String name = header.getKey();
+            if (!name.startsWith(":") && !HOP_BY_HOP.contains(name.toLowerCase())) {
+                exchange.getResponseHeaders().addAll(new HttpString(name), header.getValue());
+            }
+        }
+    }
+
+    private static Map<String, List<String>> withoutHopByHop(Map<String, List<String>> headers) {
+        Map<String, List<String>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (!header.getKey().startsWith(":") && !HOP_BY_HOP.contains(header.getKey().toLowerCase())) {
+                result.put(header.getKey(), header.getValue());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,524 @@
+package com.selenium.mcp.server.proxy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * On-disk HTTP response cache shared by all browser sessions, with least
+ * recently used entries evicted once the cache exceeds its byte budget.
+ * Entries are keyed by URL and the request's Accept-Encoding, since bodies are
+ * stored content-encoded. Each entry is a body file and a JSON metadata file
+ * named after the key's hash and a version, so an entry can be replaced while an older version is
+ * still being served. The index is rebuilt from the metadata on startup,
+ * oldest use first, using the body files' modification times.
+ */
+public class HttpCache {
+    private static final Logger logger = LoggerFactory.getLogger(HttpCache.class);
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*(s-maxage|max-age)\\s*=\\s*\"?(\\d+)");
+
+    private final Path dir;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    /**
+     * @param maxBytes byte budget for all bodies; a single entry may use an eighth of it
+     */
+    public HttpCache(Path dir, long maxBytes) throws IOException {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxBytes / 8;
+        Files.createDirectories(dir);
+        load();
+    }
+
+    /**
+     * Get the entry for a URL requested with the given Accept-Encoding, or null if it is not cached.
+     */
+    public synchronized Entry get(String url, String acceptEncoding) {
+        return entries.get(key(url, normalize(acceptEncoding)));
+    }
+
+    /**
+     * Open an entry's body and mark it as recently used.
+     *
+     * @return null if the body is gone, in which case the entry is dropped
+     */
+    public InputStream open(Entry entry) {
+        try {
+            InputStream in = Files.newInputStream(entry.body);
+            Files.setLastModifiedTime(entry.body, FileTime.fromMillis(System.currentTimeMillis()));
+            return in;
+        } catch (IOException e) {
+            logger.debug("Cached body of {} is unreadable: {}", entry.url, e.getMessage());
+            remove(entry);
+            return null;
+        }
+    }
+
+    /**
+     * Start storing a response body for a URL requested with the given Accept-Encoding.
+     */
+    public Writer newWriter(String url, String acceptEncoding) throws IOException {
+        String encoding = normalize(acceptEncoding);
+        String name = hash(key(url, encoding)) + "-" + Long.toHexString(versions.incrementAndGet());
+        return new Writer(url, encoding, name);
+    }
+
+    /**
+     * Update an entry's headers and freshness from a 304 Not Modified response.
+     */
+    public synchronized void refresh(Entry entry, Map<String, List<String>> notModifiedHeaders) {
+        Map<String, List<String>> headers = caseInsensitive(entry.headers);
+        for (String name : List.of("cache-control", "expires", "date", "etag", "last-modified", "age")) {
+            List<String> values = caseInsensitive(notModifiedHeaders).get(name);
+            if (values != null) {
+                headers.put(name, values);
+            }
+        }
+        entry.headers = headers;
+        entry.freshUntil = Math.max(freshUntil(200, headers, System.currentTimeMillis()), 0);
+        try {
+            writeMetadata(entry);
+        } catch (IOException e) {
+            logger.debug("Could not update cache metadata of {}: {}", entry.url, e.getMessage());
+        }
+    }
+
+    /**
+     * Work out until when a response may be served without asking the origin.
+     *
+     * @return the expiry time in epoch milliseconds, 0 if it must be revalidated
+     *         before each use, or -1 if it must not be stored
+     */
+    public static long freshUntil(int status, Map<String, List<String>> responseHeaders, long now) {
+        if (status != 200) {
+            return -1;
+        }
+        Map<String, List<String>> headers = caseInsensitive(responseHeaders);
+        if (headers.containsKey("set-cookie")) {
+            return -1;
+        }
+        String vary = join(headers.get("vary"));
+        if (!vary.isEmpty() && !vary.trim().equalsIgnoreCase("accept-encoding")) {
+            return -1;
+        }
+        String cacheControl = join(headers.get("cache-control")).toLowerCase();
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")) {
+            return -1;
+        }
+
+        long lifetime = -1;
+        if (!cacheControl.contains("no-cache")) {
+            Long maxAge = null;
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            while (matcher.find()) {
+                // s-maxage applies to shared caches and wins over max-age
+                if (maxAge == null || matcher.group(1).equals("s-maxage")) {
+                    maxAge = Long.parseLong(matcher.group(2));
+                }
+            }
+            if (maxAge != null) {
+                lifetime = maxAge * 1000;
+            } else if (headers.containsKey("expires")) {
+                long date = parseDate(first(headers, "date"), now);
+                lifetime = parseDate(first(headers, "expires"), 0) - date;
+            }
+            lifetime -= parseLong(first(headers, "age")) * 1000;
+        }
+
+        if (lifetime > 0) {
+            return now + lifetime;
+        }
+        return headers.containsKey("etag") || headers.containsKey("last-modified") ? 0 : -1;
+    }
+
+    public void recordHit(long bytes) {
+        hits.incrementAndGet();
+        bytesServed.addAndGet(bytes);
+    }
+
+    public void recordRevalidated(long bytes) {
+        revalidated.incrementAndGet();
+        bytesServed.addAndGet(bytes);
+    }
+
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    private synchronized void put(Entry entry) {
+        Entry previous = entries.put(entry.key(), entry);
+        if (previous != null) {
+            totalBytes -= previous.size;
+            deleteFiles(previous);
+        }
+        totalBytes += entry.size;
+        stored.incrementAndGet();
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry victim = eldest.next();
+            if (victim == entry) {
+                continue;
+            }
+            eldest.remove();
+            totalBytes -= victim.size;
+            deleteFiles(victim);
+            evicted.incrementAndGet();
+        }
+    }
+
+    private synchronized void remove(Entry entry) {
+        if (entries.get(entry.key()) == entry) {
+            entries.remove(entry.key());
+            totalBytes -= entry.size;
+        }
+        deleteFiles(entry);
+    }
+
+    private void load() throws IOException {
+        List<Entry> loaded = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : files) {
+                try {
+                    Entry entry = readMetadata(file);
+                    if (Files.isRegularFile(entry.body)) {
+                        entry.lastUsed = Files.getLastModifiedTime(entry.body).toMillis();
+                        loaded.add(entry);
+                    } else {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    logger.debug("Discarding unreadable cache metadata {}: {}", file, e.getMessage());
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.tmp")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        loaded.sort((a, b) -> Long.compare(a.lastUsed, b.lastUsed));
+        for (Entry entry : loaded) {
+            put(entry);
+        }
+        stored.set(0);
+        evicted.set(0);
+        logger.info("HTTP cache at {} holds {} entries ({} bytes of {})", dir, entries.size(), totalBytes, maxBytes);
+    }
+
+    private Entry readMetadata(Path file) throws IOException {
+        JsonNode node = objectMapper.readTree(file.toFile());
+        String name = file.getFileName().toString().replaceFirst("\\.json$", "");
+        Entry entry = new Entry(node.get("url").asText(), node.path("acceptEncoding").asText(), name);
+        entry.status = node.get("status").asInt();
+        entry.size = node.get("size").asLong();
+        entry.freshUntil = node.get("freshUntil").asLong();
+        Map<String, List<String>> headers = caseInsensitive(Collections.emptyMap());
+        node.get("headers").fields().forEachRemaining(field -> {
+            List<String> values = new ArrayList<>();
+            field.getValue().forEach(value -> values.add(value.asText()));
+            headers.put(field.getKey(), values);
+        });
+        entry.headers = headers;
+        return entry;
+    }
+
+    private void writeMetadata(Entry entry) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("url", entry.url);
+        node.put("acceptEncoding", entry.acceptEncoding);
+        node.put("status", entry.status);
+        node.put("size", entry.size);
+        node.put("freshUntil", entry.freshUntil);
+        node.set("headers", objectMapper.valueToTree(entry.headers));
+        Path temp = Files.createTempFile(dir, entry.name, ".tmp");
+        objectMapper.writeValue(temp.toFile(), node);
+        Files.move(temp, entry.metadata, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void deleteFiles(Entry entry) {
+        try {
+            Files.deleteIfExists(entry.metadata);
+            Files.deleteIfExists(entry.body);
+        } catch (IOException e) {
+            // Bodies still being served cannot be deleted on some platforms; load() skips orphans
+            logger.debug("Could not delete cache entry {}: {}", entry.name, e.getMessage());
+        }
+    }
+
+    /**
+     * Convert the cache counters to JSON.
+     */
+    public synchronized ObjectNode toJson(ObjectMapper objectMapper) {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("entries", entries.size());
+        result.put("bytes", totalBytes);
+        result.put("maxBytes", maxBytes);
+        result.put("hits", hits.get());
+        result.put("revalidated", revalidated.get());
+        result.put("misses", misses.get());
+        long lookups = hits.get() + revalidated.get() + misses.get();
+        result.put("hitRatio", lookups > 0 ? (hits.get() + revalidated.get()) / (double) lookups : 0.0);
+        result.put("bytesServed", bytesServed.get());
+        result.put("stored", stored.get());
+        result.put("evicted", evicted.get());
+        return result;
+    }
+
+    /**
+     * Append the cache counters in Prometheus text exposition format.
+     */
+    public synchronized void writePrometheus(StringBuilder out) {
+        out.append("# HELP mcp_http_cache_requests_total Cacheable proxy requests by result.\n");
+        out.append("# TYPE mcp_http_cache_requests_total counter\n");
+        out.append("mcp_http_cache_requests_total{result=\"hit\"} ").append(hits.get()).append('\n');
+        out.append("mcp_http_cache_requests_total{result=\"revalidated\"} ").append(revalidated.get()).append('\n');
+        out.append("mcp_http_cache_requests_total{result=\"miss\"} ").append(misses.get()).append('\n');
+        out.append("# HELP mcp_http_cache_served_bytes_total Response bytes served from the cache.\n");
+        out.append("# TYPE mcp_http_cache_served_bytes_total counter\n");
+        out.append("mcp_http_cache_served_bytes_total ").append(bytesServed.get()).append('\n');
+        out.append("# HELP mcp_http_cache_evictions_total Entries evicted to stay within the byte budget.\n");
+        out.append("# TYPE mcp_http_cache_evictions_total counter\n");
+        out.append("mcp_http_cache_evictions_total ").append(evicted.get()).append('\n');
+        out.append("# HELP mcp_http_cache_bytes Bytes of cached response bodies.\n");
+        out.append("# TYPE mcp_http_cache_bytes gauge\n");
+        out.append("mcp_http_cache_bytes ").append(totalBytes).append('\n');
+        out.append("# HELP mcp_http_cache_entries Cached responses.\n");
+        out.append("# TYPE mcp_http_cache_entries gauge\n");
+        out.append("mcp_http_cache_entries ").append(entries.size()).append('\n');
+    }
+
+    private static Map<String, List<String>> caseInsensitive(Map<String, List<String>> headers) {
+        Map<String, List<String>> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        result.putAll(headers);
+        return result;
+    }
+
+    private static String first(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    private static String join(List<String> values) {
+        return values != null ? String.join(",", values) : "";
+    }
+
+    private static long parseDate(String value, long fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // Invalid dates, e.g. "Expires: 0", count as already expired
+            return fallback;
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return value != null ? Long.parseLong(value.trim()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String key(String url, String acceptEncoding) {
+        return acceptEncoding.isEmpty() ? url : url + " " + acceptEncoding;
+    }
+
+    private static String normalize(String acceptEncoding) {
+        return acceptEncoding != null ? acceptEncoding.replaceAll("\\s+", "").toLowerCase() : "";
+    }
+
+    private static String hash(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A cached response.
+     */
+    public class Entry {
+        private final String url;
+        private final String acceptEncoding;
+        private final String name;
+        private final Path body;
+        private final Path metadata;
+        private int status;
+        private long size;
+        private volatile long freshUntil;
+        private long lastUsed;
+        private volatile Map<String, List<String>> headers;
+
+        private Entry(String url, String acceptEncoding, String name) {
+            this.url = url;
+            this.acceptEncoding = acceptEncoding;
+            this.name = name;
+            this.body = dir.resolve(name + ".body");
+            this.metadata = dir.resolve(name + ".json");
+        }
+
+        private String key() {
+            return HttpCache.key(url, acceptEncoding);
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        public boolean isFresh(long now) {
+            return freshUntil > now;
+        }
+
+        /**
+         * Get the validator to send as If-None-Match, or null.
+         */
+        public String getETag() {
+            return first(headers, "etag");
+        }
+
+        /**
+         * Get the validator to send as If-Modified-Since, or null.
+         */
+        public String getLastModified() {
+            return first(headers, "last-modified");
+        }
+    }
+
+    /**
+     * Writes a response body to a temporary file while it is relayed to the browser,
+     * and adds it to the cache once complete.
+     */
+    public class Writer {
+        private final Entry entry;
+        private final Path temp;
+        private OutputStream out;
+
+        private Writer(String url, String acceptEncoding, String name) throws IOException {
+            this.entry = new Entry(url, acceptEncoding, name);
+            this.temp = Files.createTempFile(dir, name, ".tmp");
+            this.out = Files.newOutputStream(temp);
+        }
+
+        /**
+         * Append body bytes.
+         *
+         * @return false if the body was abandoned, being too large or unwritable
+         */
+        public boolean write(byte[] buffer, int offset, int length) {
+            if (out == null) {
+                return false;
+            }
+            entry.size += length;
+            try {
+                if (entry.size > maxEntryBytes) {
+                    abort();
+                    return false;
+                }
+                out.write(buffer, offset, length);
+                return true;
+            } catch (IOException e) {
+                logger.debug("Could not write cache entry for {}: {}", entry.url, e.getMessage());
+                abort();
+                return false;
+            }
+        }
+
+        /**
+         * Store the complete body with the response status and headers.
+         */
+        public void commit(int status, Map<String, List<String>> headers, long freshUntil) {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.close();
+                out = null;
+                entry.status = status;
+                entry.headers = caseInsensitive(headers);
+                entry.freshUntil = freshUntil;
+                Files.move(temp, entry.body, StandardCopyOption.ATOMIC_MOVE);
+                writeMetadata(entry);
+                put(entry);
+            } catch (IOException e) {
+                logger.debug("Could not store cache entry for {}: {}", entry.url, e.getMessage());
+                deleteFiles(entry);
+                abort();
+            }
+        }
+
+        /**
+         * Discard the body, unless it was committed.
+         */
+        public void abort() {
+            try {
+                if (out != null) {
+                    out.close();
+                    out = null;
+                }
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                logger.debug("Could not delete {}: {}", temp, e.getMessage());
+            }
+        }
+    }
+}
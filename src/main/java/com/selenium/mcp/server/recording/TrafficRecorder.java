@@ -0,0 +1,101 @@
+package com.selenium.mcp.server.recording;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends every inbound and outbound MCP message to a JSONL traffic trace:
+ * <pre>
+ * {"ts":1700000000000,"dir":"in","message":{...}}
+ * {"ts":1700000000450,"dir":"out","message":{...}}
+ * </pre>
+ * Inbound messages that are not valid JSON are kept as a "raw" string.
+ */
+public class TrafficRecorder implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(TrafficRecorder.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+    private final Path path;
+    private BufferedWriter writer;
+
+    public TrafficRecorder(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Record a message received from the client.
+     */
+    public void recordInbound(String message) {
+        JsonNode parsed;
+        try {
+            parsed = objectMapper.readTree(message);
+        } catch (IOException e) {
+            parsed = null;
+        }
+        write("in", parsed, message);
+    }
+
+    /**
+     * Record a message sent to the client. Outbound messages are serialized by the server,
+     * so they are embedded without re-parsing.
+     */
+    public void recordOutbound(String message) {
+        write("out", null, message);
+    }
+
+    private synchronized void write(String direction, JsonNode parsed, String message) {
+        long ts = System.currentTimeMillis();
+        try {
+            if (writer == null) {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                logger.info("Recording MCP traffic to {}", path.toAbsolutePath());
+            }
+
+            JsonGenerator gen = jsonFactory.createGenerator(writer);
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            gen.writeNumberField("ts", ts);
+            gen.writeStringField("dir", direction);
+            if (direction.equals("out")) {
+                gen.writeFieldName("message");
+                gen.writeRawValue(message);
+            } else if (parsed != null) {
+                gen.writeFieldName("message");
+                objectMapper.writeTree(gen, parsed);
+            } else {
+                gen.writeStringField("raw", message);
+            }
+            gen.writeEndObject();
+            gen.close();
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.warn("Failed to record MCP traffic: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -17,6 +17,7 @@ public abstract class AbstractTool implements Tool {
     @Override
     public JsonNode execute(JsonNode params, BrowserManager browserManager) throws Exception {
         logger.info("Executing tool: {} with params: {}", getName(), params);
+        long start = System.nanoTime();
         
         // Validate parameters
         validateParameters(params);
@@ -24,7 +25,7 @@ public abstract class AbstractTool implements Tool {
         // Execute the tool
         JsonNode result = executeImpl(params, browserManager);
         
-        logger.info("Tool execution completed: {}", getName());
+        logger.info("Tool execution completed: {} in {} ms", getName(), (System.nanoTime() - start) / 1_000_000);
         return result;
     }
     
@@ -4,11 +4,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.selenium.mcp.server.BrowserManager;
+import com.selenium.mcp.server.metrics.DriverCommandStats;
+import com.selenium.mcp.server.metrics.ToolMetrics;
+import com.selenium.mcp.server.tracing.Trace;
 import com.selenium.mcp.server.tools.browser.*;
 import com.selenium.mcp.server.tools.interaction.*;
 import com.selenium.mcp.server.tools.navigation.*;
 import com.selenium.mcp.server.tools.tabs.*;
 import com.selenium.mcp.server.tools.utility.*;
+import com.selenium.mcp.server.tools.utility.BrowserPdfSaveTool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +25,7 @@ import java.util.Map;
 public class ToolRegistry {
     private static final Logger logger = LoggerFactory.getLogger(ToolRegistry.class);
     private final Map<String, Tool> tools = new HashMap<>();
+    private final ToolMetrics metrics = new ToolMetrics();
 
     /**
      * Register a tool.
@@ -46,7 +51,31 @@ public class ToolRegistry {
             throw new IllegalArgumentException("Unknown tool: " + name);
         }
         
-        return tool.execute(params, browserManager);
+        long start = metrics.start(name);
+        boolean success = false;
+        DriverCommandStats.Scope commands = DriverCommandStats.openScope();
+        try {
+            JsonNode result = tool.execute(params, browserManager);
+            success = true;
+            return result;
+        } finally {
+            commands.close();
+            metrics.finish(name, start, success);
+            metrics.recordDriverCommands(name, commands.getCommands(), commands.getNanos());
+
+            Trace trace = Trace.current();
+            if (trace != null) {
+                trace.getRoot().setAttribute("driver.commands", commands.getCommands());
+                trace.getRoot().setAttribute("driver.ms", commands.getNanos() / 1_000_000.0);
+            }
+        }
+    }
+
+    /**
+     * Get the tool call metrics.
+     */
+    public ToolMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -69,11 +98,15 @@ public class ToolRegistry {
         registerTool(new BrowserSnapshotTool());
         registerTool(new BrowserScreenshotTool());
         registerTool(new BrowserScreenCaptureTool());
+        registerTool(new BrowserScreencastStartTool());
+        registerTool(new BrowserScreencastStopTool());
         registerTool(new BrowserFrameSwitchTool());
         registerTool(new BrowserCloseTool());
         registerTool(new BrowserResizeTool());
         registerTool(new BrowserNetworkRequestsTool());
+        registerTool(new BrowserNetworkHarTool());
         registerTool(new BrowserConsoleMessagesTool());
+        registerTool(new BrowserBlockResourcesTool());
     }
 
     /**
@@ -105,6 +138,7 @@ public class ToolRegistry {
      */
     public void registerUtilityTools() {
         registerTool(new BrowserPdfSaveTool());
+        registerTool(new ServerStatsTool(metrics));
     }
 
     /**
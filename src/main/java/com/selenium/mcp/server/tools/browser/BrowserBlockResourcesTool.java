@@ -0,0 +1,90 @@
+package com.selenium.mcp.server.tools.browser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.selenium.mcp.server.BrowserManager;
+import com.selenium.mcp.server.devtools.BlockingRules;
+import com.selenium.mcp.server.devtools.ResourceBlocker;
+import com.selenium.mcp.server.tools.AbstractTool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tool to set which requests the browser blocks for the rest of the session.
+ * Only available on Chromium-based browsers; Firefox takes the defaults
+ * given on the command line at launch.
+ */
+public class BrowserBlockResourcesTool extends AbstractTool {
+    @Override
+    public String getName() {
+        return "browser_block_resources";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Block resources";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Block requests by resource type and URL pattern for the rest of the session, e.g. images, fonts and trackers, to make page loads faster. Replaces the current rules.";
+    }
+
+    @Override
+    public JsonNode getParameterSchema(ObjectMapper objectMapper) {
+        ObjectNode schema = createParameterSchema(objectMapper);
+        addArrayParameter(schema, "types", "Resource types to block: " + String.join(", ", BlockingRules.RESOURCE_TYPES), "string", false);
+        addArrayParameter(schema, "urlPatterns", "URL patterns to block, with * as wildcard, e.g. *.woff2. \"trackers\" blocks common analytics and ad hosts.", "string", false);
+        addBooleanParameter(schema, "reset", "Restore the rules the server was started with instead", false);
+        return schema;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    @Override
+    protected void validateParameters(JsonNode params) throws Exception {
+        // Throws IllegalArgumentException on unknown resource types
+        toRules(params);
+    }
+
+    @Override
+    protected JsonNode executeImpl(JsonNode params, BrowserManager browserManager) throws Exception {
+        ResourceBlocker blocker = browserManager.getResourceBlocker();
+        if (blocker == null) {
+            throw new UnsupportedOperationException("Blocking resources during a session is only supported on Chromium-based browsers");
+        }
+
+        BlockingRules rules = params.has("reset") && params.get("reset").asBoolean()
+                ? browserManager.getDefaultBlockingRules()
+                : toRules(params);
+        blocker.setRules(rules);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode result = objectMapper.createObjectNode();
+        result.set("types", objectMapper.valueToTree(rules.getTypes()));
+        result.set("urlPatterns", objectMapper.valueToTree(rules.getUrlPatterns()));
+        result.put("message", rules.isEmpty()
+                ? "Resource blocking turned off"
+                : "Blocking " + rules.getTypes().size() + " resource types and " + rules.getUrlPatterns().size() + " URL patterns");
+        return result;
+    }
+
+    private static BlockingRules toRules(JsonNode params) {
+        return new BlockingRules(toList(params.get("types")), toList(params.get("urlPatterns")));
+    }
+
+    private static List<String> toList(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        if (array != null && array.isArray()) {
+            for (JsonNode value : array) {
+                values.add(value.asText());
+            }
+        }
+        return values;
+    }
+}
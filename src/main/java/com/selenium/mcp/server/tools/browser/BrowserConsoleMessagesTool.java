@@ -4,16 +4,18 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.selenium.mcp.server.BrowserManager;
+import com.selenium.mcp.server.devtools.ConsoleCapture;
+import com.selenium.mcp.server.devtools.ConsoleMessage;
+import com.selenium.mcp.server.devtools.RingBuffer;
 import com.selenium.mcp.server.tools.AbstractTool;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.logging.LogEntry;
 import org.openqa.selenium.logging.LogType;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 
 /**
@@ -32,12 +34,16 @@ public class BrowserConsoleMessagesTool extends AbstractTool {
 
     @Override
     public String getDescription() {
-        return "Returns all console messages";
+        return "Returns console messages. Pass the returned nextCursor as since to only get new messages.";
     }
 
     @Override
     public JsonNode getParameterSchema(ObjectMapper objectMapper) {
-        return createParameterSchema(objectMapper);
+        ObjectNode schema = createParameterSchema(objectMapper);
+        addIntegerParameter(schema, "since", "Cursor returned as nextCursor by a previous call. Only messages after it are returned.", false);
+        addStringParameter(schema, "level", "Minimum level to return: debug, log, info, warning or error", false);
+        addIntegerParameter(schema, "limit", "Maximum number of messages to return", false);
+        return schema;
     }
 
     @Override
@@ -48,36 +54,60 @@ public class BrowserConsoleMessagesTool extends AbstractTool {
     @Override
     protected JsonNode executeImpl(JsonNode params, BrowserManager browserManager) throws Exception {
         WebDriver driver = browserManager.getDriver();
-        
-        // Get console logs
-        List<LogEntry> logs = new ArrayList<>();
-        try {
-            logs = driver.manage().logs().get(LogType.BROWSER).getAll();
-        } catch (Exception e) {
-            logger.warn("Could not get browser logs: {}", e.getMessage());
-            
-            // Try to get console logs using JavaScript
-            return getConsoleLogsUsingJavaScript(driver);
+        ConsoleCapture capture = browserManager.getConsoleCapture();
+        String handle = driver.getWindowHandle();
+
+        long since = params.has("since") ? params.get("since").asLong() : 0;
+        int limit = params.has("limit") ? params.get("limit").asInt() : 0;
+        String level = params.has("level") ? ConsoleMessage.normalizeLevel(params.get("level").asText()) : null;
+
+        // Without a live capture, pull messages logged since the previous call into the buffer
+        String source = capture.getSource();
+        if (!capture.isLive()) {
+            try {
+                collectBrowserLogs(driver, capture, handle);
+                source = "browser logs";
+            } catch (Exception e) {
+                logger.warn("Could not get browser logs: {}", e.getMessage());
+
+                // Try to get console logs using JavaScript
+                collectConsoleLogsUsingJavaScript(driver, capture, handle);
+                source = "JavaScript";
+            }
         }
-        
+
+        RingBuffer.Page<ConsoleMessage> page = capture.read(handle, since,
+                level != null ? message -> message.isAtLeast(level) : null, limit);
+
         // Create result
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode result = objectMapper.createObjectNode();
         ArrayNode messages = result.putArray("messages");
-        
-        // Process each log entry
-        for (LogEntry entry : logs) {
-            ObjectNode message = messages.addObject();
-            message.put("level", getLevelName(entry.getLevel()));
-            message.put("message", entry.getMessage());
-            message.put("timestamp", entry.getTimestamp());
+
+        for (RingBuffer.Entry<ConsoleMessage> entry : page.getEntries()) {
+            messages.add(entry.getValue().toJson(objectMapper).put("seq", entry.getSeq()));
         }
-        
+
+        result.put("nextCursor", page.getNextCursor());
+        if (page.hasMore()) {
+            result.put("hasMore", true);
+        }
+        if (page.getMissed() > 0) {
+            result.put("missed", page.getMissed());
+        }
+
         // Add message
-        result.put("message", "Retrieved " + messages.size() + " console messages");
-        
+        result.put("message", "Retrieved " + messages.size() + " console messages using " + source);
+
         return result;
     }
+
+    private void collectBrowserLogs(WebDriver driver, ConsoleCapture capture, String handle) {
+        // Reading the browser log clears it, so every entry is only seen once
+        for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+            capture.add(handle, new ConsoleMessage(getLevelName(entry.getLevel()), entry.getMessage(), entry.getTimestamp()));
+        }
+    }
     
     private String getLevelName(Level level) {
         if (level.equals(Level.SEVERE)) {
@@ -91,7 +121,8 @@ public class BrowserConsoleMessagesTool extends AbstractTool {
         }
     }
     
-    private JsonNode getConsoleLogsUsingJavaScript(WebDriver driver) {
+    @SuppressWarnings("unchecked")
+    private void collectConsoleLogsUsingJavaScript(WebDriver driver, ConsoleCapture capture, String handle) {
         // Use JavaScript to get console logs
         // First, inject a script to capture console logs
         String injectScript = 
@@ -123,32 +154,22 @@ public class BrowserConsoleMessagesTool extends AbstractTool {
         
         ((JavascriptExecutor) driver).executeScript(injectScript);
         
-        // Now get the captured logs
-        String getLogsScript = "return window._seleniumConsoleLogs || [];";
+        // Now drain the captured logs so each one is transferred only once
+        String getLogsScript = "return window._seleniumConsoleLogs ? window._seleniumConsoleLogs.splice(0) : [];";
         List<Object> logs = (List<Object>) ((JavascriptExecutor) driver).executeScript(getLogsScript);
         
-        // Create result
-        ObjectMapper objectMapper = new ObjectMapper();
-        ObjectNode result = objectMapper.createObjectNode();
-        ArrayNode messages = result.putArray("messages");
-        
         // Process each log entry
         for (Object log : logs) {
-            try {
-                // Convert log to JSON
-                String logJson = objectMapper.writeValueAsString(log);
-                JsonNode logNode = objectMapper.readTree(logJson);
-                
-                // Add to messages
-                messages.add(logNode);
-            } catch (Exception e) {
-                logger.warn("Could not parse log entry: {}", e.getMessage());
+            if (log instanceof Map) {
+                Map<String, Object> entry = (Map<String, Object>) log;
+                Object timestamp = entry.get("timestamp");
+                capture.add(handle, new ConsoleMessage(
+                        String.valueOf(entry.get("level")),
+                        String.valueOf(entry.get("message")),
+                        timestamp instanceof Number ? ((Number) timestamp).longValue() : System.currentTimeMillis()));
+            } else {
+                logger.warn("Could not parse log entry: {}", log);
             }
         }
-        
-        // Add message
-        result.put("message", "Retrieved " + messages.size() + " console messages using JavaScript");
-        
-        return result;
     }
 }
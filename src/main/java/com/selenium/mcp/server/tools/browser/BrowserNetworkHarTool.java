@@ -0,0 +1,142 @@
+package com.selenium.mcp.server.tools.browser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.selenium.mcp.server.BrowserManager;
+import com.selenium.mcp.server.devtools.HarWriter;
+import com.selenium.mcp.server.devtools.NetworkCapture;
+import com.selenium.mcp.server.devtools.NetworkRecord;
+import com.selenium.mcp.server.devtools.RingBuffer;
+import com.selenium.mcp.server.tools.AbstractTool;
+import org.openqa.selenium.WebDriver;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Tool to export captured network traffic of the current tab as a HAR 1.2 file.
+ * The HAR is built from the tab's network buffer, so requests evicted from it
+ * are not in the file; their number is reported as missed.
+ * Note: This only works with Chromium-based browsers.
+ */
+public class BrowserNetworkHarTool extends AbstractTool {
+    private static final int DEFAULT_MAX_BODY_SIZE = 64 * 1024;
+
+    @Override
+    public String getName() {
+        return "browser_network_har";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Export network HAR";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Write the network requests captured for the current tab to a HAR 1.2 file. "
+                + "Only the most recent requests are kept per tab (--network-buffer-size, default 1000); "
+                + "older ones are left out and counted as missed. Export with since regularly to keep a complete log.";
+    }
+
+    @Override
+    public JsonNode getParameterSchema(ObjectMapper objectMapper) {
+        ObjectNode schema = createParameterSchema(objectMapper);
+        addStringParameter(schema, "filename", "File name to save the HAR to. Defaults to `network-{timestamp}.har` if not specified.", false);
+        addBooleanParameter(schema, "includeBodies", "Whether to include response bodies that the browser still holds", false);
+        addIntegerParameter(schema, "maxBodySize", "Maximum size in bytes of a response body to include. Defaults to 65536.", false);
+        addIntegerParameter(schema, "since", "Cursor returned as nextCursor by browser_network_requests or a previous export. Only requests after it are exported.", false);
+        return schema;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    protected JsonNode executeImpl(JsonNode params, BrowserManager browserManager) throws Exception {
+        WebDriver driver = browserManager.getDriver();
+        NetworkCapture capture = browserManager.getNetworkCapture();
+        if (capture == null) {
+            throw new UnsupportedOperationException("HAR export is only supported on Chromium-based browsers");
+        }
+
+        String filename = params.has("filename") ? params.get("filename").asText() : null;
+        boolean includeBodies = params.has("includeBodies") && params.get("includeBodies").asBoolean();
+        int maxBodySize = params.has("maxBodySize") ? params.get("maxBodySize").asInt() : DEFAULT_MAX_BODY_SIZE;
+        long since = params.has("since") ? params.get("since").asLong() : 0;
+
+        // Generate default filename if not provided
+        if (filename == null) {
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            filename = "network-" + timestamp + ".har";
+        }
+
+        // Create output directory if it doesn't exist
+        Path outputDir = Paths.get("har");
+        if (!Files.exists(outputDir)) {
+            Files.createDirectories(outputDir);
+        }
+        File outputFile = outputDir.resolve(filename).toFile();
+
+        RingBuffer.Page<NetworkRecord> page = capture.read(driver.getWindowHandle(), since, null, 0);
+        int bodies = 0;
+        int entries;
+
+        // Entries are written one at a time so the document never sits in memory
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(outputFile.toPath()));
+             HarWriter har = new HarWriter(out, "selenium-mcp", "0.0.1")) {
+            for (RingBuffer.Entry<NetworkRecord> entry : page.getEntries()) {
+                NetworkRecord record = entry.getValue();
+                String body = null;
+                boolean base64Encoded = false;
+
+                // The encoded length is a lower bound for the body size, so skip the fetch when it is already too big
+                if (includeBodies && record.isFinished() && !record.isFailed()
+                        && record.getEncodedDataLength() <= maxBodySize) {
+                    Map<String, Object> response = capture.getResponseBody(record);
+                    if (response != null && response.get("body") instanceof String) {
+                        String candidate = (String) response.get("body");
+                        if (candidate.length() <= maxBodySize) {
+                            body = candidate;
+                            base64Encoded = Boolean.TRUE.equals(response.get("base64Encoded"));
+                            bodies++;
+                        }
+                    }
+                }
+
+                har.writeEntry(record, body, base64Encoded);
+            }
+            entries = har.getEntryCount();
+        }
+
+        logger.info("HAR with {} entries saved to {}", entries, outputFile.getAbsolutePath());
+
+        // Create result
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("path", outputFile.getAbsolutePath());
+        result.put("entries", entries);
+        if (includeBodies) {
+            result.put("bodies", bodies);
+        }
+        result.put("nextCursor", page.getNextCursor());
+        if (page.getMissed() > 0) {
+            result.put("missed", page.getMissed());
+            result.put("message", "HAR saved as " + filename + " without " + page.getMissed()
+                    + " older requests that were evicted from the network buffer");
+        } else {
+            result.put("message", "HAR saved as " + filename);
+        }
+        return result;
+    }
+}
@@ -4,16 +4,25 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.selenium.mcp.server.BrowserManager;
+import com.selenium.mcp.server.devtools.NetworkCapture;
+import com.selenium.mcp.server.devtools.NetworkRecord;
+import com.selenium.mcp.server.devtools.RingBuffer;
 import com.selenium.mcp.server.tools.AbstractTool;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
 /**
  * Tool to list network requests.
- * Note: This is a limited implementation as Selenium doesn't provide direct access to network requests.
- * It uses JavaScript to retrieve information from the browser's performance API.
+ * On Chromium-based browsers requests are served from the CDP network capture,
+ * which includes methods, status codes, headers and failed requests.
+ * Other browsers fall back to the browser's performance API.
  */
 public class BrowserNetworkRequestsTool extends AbstractTool {
     @Override
@@ -28,12 +37,33 @@ public class BrowserNetworkRequestsTool extends AbstractTool {
 
     @Override
     public String getDescription() {
-        return "Returns all network requests since loading the page";
+        return "Returns network requests since loading the page. Requests are listed once they complete; requests still in flight are listed under pending. Pass the returned nextCursor as since to only get new requests.";
     }
 
     @Override
     public JsonNode getParameterSchema(ObjectMapper objectMapper) {
-        return createParameterSchema(objectMapper);
+        ObjectNode schema = createParameterSchema(objectMapper);
+        addBooleanParameter(schema, "includeHeaders", "Whether to include request and response headers. Only available on Chromium-based browsers.", false);
+        addIntegerParameter(schema, "since", "Cursor returned as nextCursor by a previous call. Only requests after it are returned.", false);
+        addStringParameter(schema, "urlPattern", "Regular expression matched against the request URL", false);
+        addStringParameter(schema, "resourceType", "Resource type to return, e.g. Document, XHR, Fetch, Script, Image", false);
+        addStringParameter(schema, "status", "Status to return: an exact code such as 404, a class such as 4xx, or 'failed'. Only available on Chromium-based browsers.", false);
+        addIntegerParameter(schema, "limit", "Maximum number of requests to return", false);
+        return schema;
+    }
+
+    @Override
+    protected void validateParameters(JsonNode params) throws Exception {
+        if (params.has("urlPattern")) {
+            try {
+                Pattern.compile(params.get("urlPattern").asText());
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid urlPattern: " + e.getDescription());
+            }
+        }
+        if (params.has("status") && !params.get("status").asText().matches("(?i)failed|[1-5]xx|\\d{3}")) {
+            throw new IllegalArgumentException("status must be a code such as 404, a class such as 4xx, or 'failed'");
+        }
     }
 
     @Override
@@ -44,53 +74,139 @@ public class BrowserNetworkRequestsTool extends AbstractTool {
     @Override
     protected JsonNode executeImpl(JsonNode params, BrowserManager browserManager) throws Exception {
         WebDriver driver = browserManager.getDriver();
-        
-        // Use JavaScript to get network requests from the Performance API
-        String script = 
-                "var performance = window.performance || window.mozPerformance || window.msPerformance || window.webkitPerformance || {}; " +
-                "var network = performance.getEntries ? performance.getEntries() : []; " +
-                "return JSON.stringify(network);";
-        
-        String networkData = (String) ((JavascriptExecutor) driver).executeScript(script);
-        
-        // Parse the network data
+        NetworkCapture capture = browserManager.getNetworkCapture();
+        if (capture == null) {
+            return getRequestsUsingPerformanceApi(driver, params);
+        }
+
+        boolean includeHeaders = params.has("includeHeaders") && params.get("includeHeaders").asBoolean();
+        long since = params.has("since") ? params.get("since").asLong() : 0;
+        int limit = params.has("limit") ? params.get("limit").asInt() : 0;
+        String handle = driver.getWindowHandle();
+
+        Predicate<NetworkRecord> filter = createFilter(params);
+        RingBuffer.Page<NetworkRecord> page = capture.read(handle, since, filter, limit);
+
         ObjectMapper objectMapper = new ObjectMapper();
-        JsonNode networkEntries = objectMapper.readTree(networkData);
-        
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode requests = result.putArray("requests");
+
+        for (RingBuffer.Entry<NetworkRecord> entry : page.getEntries()) {
+            requests.add(entry.getValue().toJson(objectMapper, includeHeaders).put("seq", entry.getSeq()));
+        }
+
+        ArrayNode pending = objectMapper.createArrayNode();
+        for (NetworkRecord record : capture.getPending(handle)) {
+            if (filter.test(record)) {
+                pending.add(record.toJson(objectMapper, includeHeaders));
+            }
+        }
+        if (pending.size() > 0) {
+            result.set("pending", pending);
+        }
+
+        result.put("nextCursor", page.getNextCursor());
+        if (page.hasMore()) {
+            result.put("hasMore", true);
+        }
+        if (page.getMissed() > 0) {
+            result.put("missed", page.getMissed());
+        }
+
+        result.put("message", "Retrieved " + requests.size() + " network requests"
+                + (pending.size() > 0 ? " (" + pending.size() + " pending)" : ""));
+        return result;
+    }
+
+    private Predicate<NetworkRecord> createFilter(JsonNode params) {
+        Predicate<NetworkRecord> filter = record -> true;
+
+        if (params.has("urlPattern")) {
+            Pattern pattern = Pattern.compile(params.get("urlPattern").asText());
+            filter = filter.and(record -> pattern.matcher(record.getUrl()).find());
+        }
+
+        if (params.has("resourceType")) {
+            String resourceType = params.get("resourceType").asText();
+            filter = filter.and(record -> resourceType.equalsIgnoreCase(record.getResourceType()));
+        }
+
+        if (params.has("status")) {
+            String status = params.get("status").asText().toLowerCase();
+            if (status.equals("failed")) {
+                filter = filter.and(NetworkRecord::isFailed);
+            } else if (status.endsWith("xx")) {
+                int statusClass = status.charAt(0) - '0';
+                filter = filter.and(record -> record.getStatus() / 100 == statusClass);
+            } else {
+                int code = Integer.parseInt(status);
+                filter = filter.and(record -> record.getStatus() == code);
+            }
+        }
+
+        return filter;
+    }
+
+    @SuppressWarnings("unchecked")
+    private JsonNode getRequestsUsingPerformanceApi(WebDriver driver, JsonNode params) {
+        // The resource timing buffer is ordered, so its index doubles as the cursor.
+        // A cursor past the end means the page navigated and the buffer was reset.
+        long since = params.has("since") ? params.get("since").asLong() : 0;
+        int limit = params.has("limit") ? params.get("limit").asInt() : 0;
+        Pattern urlPattern = params.has("urlPattern") ? Pattern.compile(params.get("urlPattern").asText()) : null;
+        String resourceType = params.has("resourceType") ? params.get("resourceType").asText() : null;
+
+        // Map only the fields we report instead of serializing whole entries in the page
+        String script =
+                "var performance = window.performance || window.mozPerformance || window.msPerformance || window.webkitPerformance || {}; " +
+                "var entries = performance.getEntriesByType ? performance.getEntriesByType('resource') : []; " +
+                "var since = arguments[0] > entries.length ? 0 : arguments[0]; " +
+                "return {since: since, entries: entries.slice(since).map(function(e) { " +
+                "  return {url: e.name, type: e.initiatorType, duration: e.responseEnd - e.startTime, size: e.transferSize}; })};";
+
+        Map<String, Object> data = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(script, since);
+        long seq = ((Number) data.get("since")).longValue();
+        List<Map<String, Object>> entries = (List<Map<String, Object>>) data.get("entries");
+
         // Create result
+        ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode result = objectMapper.createObjectNode();
         ArrayNode requests = result.putArray("requests");
-        
+
         // Process each network entry
-        for (JsonNode entry : networkEntries) {
-            if (entry.has("entryType") && entry.get("entryType").asText().equals("resource")) {
-                ObjectNode request = requests.addObject();
-                
-                // Add basic information
-                if (entry.has("name")) {
-                    request.put("url", entry.get("name").asText());
-                }
-                
-                if (entry.has("initiatorType")) {
-                    request.put("type", entry.get("initiatorType").asText());
-                }
-                
-                // Add timing information
-                if (entry.has("startTime") && entry.has("responseEnd")) {
-                    double duration = entry.get("responseEnd").asDouble() - entry.get("startTime").asDouble();
-                    request.put("duration", duration);
-                }
-                
-                // Add more details if available
-                if (entry.has("transferSize")) {
-                    request.put("size", entry.get("transferSize").asInt());
-                }
+        for (Map<String, Object> entry : entries) {
+            if (limit > 0 && requests.size() >= limit) {
+                result.put("hasMore", true);
+                break;
+            }
+            seq++;
+
+            String url = String.valueOf(entry.get("url"));
+            String type = String.valueOf(entry.get("type"));
+            if ((urlPattern != null && !urlPattern.matcher(url).find())
+                    || (resourceType != null && !resourceType.equalsIgnoreCase(type))) {
+                continue;
+            }
+
+            ObjectNode request = requests.addObject();
+            request.put("seq", seq);
+            request.put("url", url);
+            request.put("type", type);
+
+            if (entry.get("duration") instanceof Number) {
+                request.put("duration", ((Number) entry.get("duration")).doubleValue());
+            }
+
+            if (entry.get("size") instanceof Number) {
+                request.put("size", ((Number) entry.get("size")).longValue());
             }
         }
-        
+
+        result.put("nextCursor", seq);
+
         // Add message
         result.put("message", "Retrieved " + requests.size() + " network requests");
-        
+
         return result;
     }
 }
@@ -0,0 +1,93 @@
+package com.selenium.mcp.server.tools.browser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.selenium.mcp.server.BrowserManager;
+import com.selenium.mcp.server.devtools.CdpSession;
+import com.selenium.mcp.server.devtools.Screencast;
+import com.selenium.mcp.server.tools.AbstractTool;
+
+/**
+ * Tool to start streaming screencast frames to the client as SSE events.
+ * Note: This only works with Chromium-based browsers over the SSE transport.
+ */
+public class BrowserScreencastStartTool extends AbstractTool {
+    private static final double DEFAULT_MAX_FPS = 5;
+    private static final int DEFAULT_QUALITY = 60;
+
+    @Override
+    public String getName() {
+        return "browser_screencast_start";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Start screencast";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Start streaming JPEG frames of the current tab as '" + Screencast.EVENT_NAME
+                + "' SSE events. Frames are dropped when the client falls behind.";
+    }
+
+    @Override
+    public JsonNode getParameterSchema(ObjectMapper objectMapper) {
+        ObjectNode schema = createParameterSchema(objectMapper);
+        addNumberParameter(schema, "maxFps", "Maximum frames per second to deliver. Defaults to 5.", false);
+        addIntegerParameter(schema, "maxWidth", "Maximum frame width in pixels", false);
+        addIntegerParameter(schema, "maxHeight", "Maximum frame height in pixels", false);
+        addIntegerParameter(schema, "quality", "JPEG quality from 0 to 100. Defaults to 60.", false);
+        addIntegerParameter(schema, "everyNthFrame", "Only capture every n-th frame rendered by the browser. Defaults to 1.", false);
+        return schema;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    protected void validateParameters(JsonNode params) throws Exception {
+        if (params.has("maxFps") && params.get("maxFps").asDouble() <= 0) {
+            throw new IllegalArgumentException("maxFps must be greater than 0");
+        }
+        if (params.has("quality")) {
+            int quality = params.get("quality").asInt();
+            if (quality < 0 || quality > 100) {
+                throw new IllegalArgumentException("quality must be between 0 and 100");
+            }
+        }
+    }
+
+    @Override
+    protected JsonNode executeImpl(JsonNode params, BrowserManager browserManager) throws Exception {
+        double maxFps = params.has("maxFps") ? params.get("maxFps").asDouble() : DEFAULT_MAX_FPS;
+        int quality = params.has("quality") ? params.get("quality").asInt() : DEFAULT_QUALITY;
+        Integer maxWidth = params.has("maxWidth") ? params.get("maxWidth").asInt() : null;
+        Integer maxHeight = params.has("maxHeight") ? params.get("maxHeight").asInt() : null;
+        int everyNthFrame = params.has("everyNthFrame") ? Math.max(1, params.get("everyNthFrame").asInt()) : 1;
+
+        Screencast current = browserManager.getScreencast();
+        if (current != null && current.isRunning()) {
+            throw new IllegalStateException("A screencast is already running, stop it first");
+        }
+
+        CdpSession session = browserManager.getCdpSession();
+        if (session == null) {
+            throw new UnsupportedOperationException("Screencast is only supported on Chromium-based browsers");
+        }
+
+        Screencast screencast = new Screencast(session, browserManager.getEventSink(), maxFps);
+        screencast.start(quality, maxWidth, maxHeight, everyNthFrame);
+        browserManager.setScreencast(screencast);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("event", Screencast.EVENT_NAME);
+        result.put("maxFps", maxFps);
+        result.put("message", "Screencast started");
+        return result;
+    }
+}
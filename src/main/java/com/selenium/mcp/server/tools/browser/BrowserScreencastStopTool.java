@@ -0,0 +1,53 @@
+package com.selenium.mcp.server.tools.browser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.selenium.mcp.server.BrowserManager;
+import com.selenium.mcp.server.devtools.Screencast;
+import com.selenium.mcp.server.tools.AbstractTool;
+
+/**
+ * Tool to stop a running screencast.
+ */
+public class BrowserScreencastStopTool extends AbstractTool {
+    @Override
+    public String getName() {
+        return "browser_screencast_stop";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Stop screencast";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Stop streaming screencast frames and return delivery statistics";
+    }
+
+    @Override
+    public JsonNode getParameterSchema(ObjectMapper objectMapper) {
+        return createParameterSchema(objectMapper);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    protected JsonNode executeImpl(JsonNode params, BrowserManager browserManager) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        Screencast screencast = browserManager.getScreencast();
+        if (screencast == null) {
+            return createSimpleResult(objectMapper, "No screencast is running");
+        }
+
+        ObjectNode result = screencast.stop();
+        browserManager.setScreencast(null);
+        result.put("message", "Screencast stopped");
+        return result;
+    }
+}
@@ -141,7 +141,7 @@ public class BrowserScreenshotTool extends AbstractTool {
         return screenshotBytes;
     }
     
-    private byte[] convertToJpeg(byte[] pngBytes) throws IOException {
+    static byte[] convertToJpeg(byte[] pngBytes) throws IOException {
         // Read PNG image
         BufferedImage image = ImageIO.read(new java.io.ByteArrayInputStream(pngBytes));
         
@@ -3,10 +3,13 @@ package com.selenium.mcp.server.tools.browser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.selenium.mcp.server.BrowserManager;
+import com.selenium.mcp.server.EventSink;
+import com.selenium.mcp.server.jfr.SnapshotEvent;
 import com.selenium.mcp.server.tools.AbstractTool;
+import com.selenium.mcp.server.tracing.Span;
+import com.selenium.mcp.server.tracing.Trace;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -16,8 +19,12 @@ import java.util.*;
 
 /**
  * Tool to capture an accessibility snapshot of the current page.
+ * The 'interactive' and 'text' profiles leave out hidden content and empty
+ * wrappers, which usually makes them several times smaller than 'full'.
  */
 public class BrowserSnapshotTool extends AbstractTool {
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
     @Override
     public String getName() {
         return "browser_snapshot";
@@ -35,7 +42,37 @@ public class BrowserSnapshotTool extends AbstractTool {
 
     @Override
     public JsonNode getParameterSchema(ObjectMapper objectMapper) {
-        return createParameterSchema(objectMapper);
+        ObjectNode schema = createParameterSchema(objectMapper);
+        addStringParameter(schema, "profile", "Output profile: 'full' (every element), 'interactive' (actionable and labelled elements "
+                + "with their landmarks) or 'text' (indented text outline). Compact profiles leave out hidden and offscreen content.", false);
+        addStringParameter(schema, "ref", "Element reference from a previous snapshot; only its subtree is captured", false);
+        addBooleanParameter(schema, "viewport", "Only capture elements in or near the current viewport", false);
+        addIntegerParameter(schema, "viewportMargin", "Distance in pixels around the viewport still captured with viewport (default: 200)", false);
+        addIntegerParameter(schema, "maxDepth", "Maximum number of levels below the starting element", false);
+        addIntegerParameter(schema, "maxNodes", "Maximum number of nodes to return", false);
+        addIntegerParameter(schema, "since", "Cursor returned as nextCursor by a previous call. Only nodes after that call's last node are returned, even if earlier parts of the page changed.", false);
+        addBooleanParameter(schema, "stream", "Send the nodes in order as snapshotChunk events before the result, for very large pages", false);
+        addIntegerParameter(schema, "chunkSize", "Maximum number of nodes per snapshotChunk event (default: 1000)", false);
+        return schema;
+    }
+
+    @Override
+    protected void validateParameters(JsonNode params) throws Exception {
+        if (params.has("profile") && !PageSnapshot.PROFILES.contains(params.get("profile").asText())) {
+            throw new IllegalArgumentException("profile must be one of " + PageSnapshot.PROFILES);
+        }
+        if (params.has("chunkSize") && params.get("chunkSize").asInt() < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        for (String limit : new String[]{"viewportMargin", "maxNodes"}) {
+            if (params.has(limit) && params.get(limit).asInt() < 0) {
+                throw new IllegalArgumentException(limit + " must not be negative");
+            }
+        }
+        // The page script takes a depth of 0 as no limit
+        if (params.has("maxDepth") && params.get("maxDepth").asInt() < 1) {
+            throw new IllegalArgumentException("maxDepth must be at least 1");
+        }
     }
 
     @Override
@@ -49,10 +86,10 @@ public class BrowserSnapshotTool extends AbstractTool {
         
         // Wait for page to load
         try {
-            new WebDriverWait(driver, Duration.ofSeconds(10))
+            Trace.run("wait", () -> new WebDriverWait(driver, Duration.ofSeconds(10))
                     .until(webDriver -> ((JavascriptExecutor) webDriver)
                             .executeScript("return document.readyState")
-                            .equals("complete"));
+                            .equals("complete")));
         } catch (TimeoutException e) {
             logger.warn("Page load timeout, proceeding with snapshot anyway");
         }
@@ -66,120 +103,127 @@ public class BrowserSnapshotTool extends AbstractTool {
         result.put("title", driver.getTitle());
         
         // Add accessibility tree
-        result.set("snapshot", createAccessibilityTree(driver, objectMapper));
-        
-        return result;
-    }
-
-    private JsonNode createAccessibilityTree(WebDriver driver, ObjectMapper objectMapper) {
-        // Get all elements
-        List<WebElement> allElements = driver.findElements(By.xpath("//*"));
-        
-        // Create a map of elements to their IDs
-        Map<WebElement, String> elementIds = new HashMap<>();
-        for (int i = 0; i < allElements.size(); i++) {
-            elementIds.put(allElements.get(i), "element-" + i);
+        String profile = params.has("profile") ? params.get("profile").asText() : browserManager.getConfig().getSnapshotProfile();
+        result.put("profile", profile);
+        if (params.has("ref")) {
+            result.put("scope", params.get("ref").asText());
         }
-        
-        // Create the root node
-        ObjectNode root = objectMapper.createObjectNode();
-        root.put("type", "root");
-        root.put("name", "Document");
-        root.put("ref", "root");
-        
-        // Add the body as a child of the root
-        ArrayNode rootChildren = root.putArray("children");
-        
-        // Find the body element
-        WebElement body = driver.findElement(By.tagName("body"));
-        
-        // Process the body and its children
-        rootChildren.add(processElement(body, elementIds, objectMapper));
-        
-        return root;
-    }
 
-    private ObjectNode processElement(WebElement element, Map<WebElement, String> elementIds, ObjectMapper objectMapper) {
-        ObjectNode node = objectMapper.createObjectNode();
-        
-        // Get element properties
-        String tagName = element.getTagName();
-        String elementId = elementIds.get(element);
-        
-        // Set basic properties
-        node.put("type", tagName);
-        node.put("ref", elementId);
-        
-        // Try to get text content
-        try {
-            String text = element.getText().trim();
-            if (!text.isEmpty()) {
-                node.put("name", text);
+        SnapshotEvent event = new SnapshotEvent();
+        event.begin();
+        if (params.has("stream") && params.get("stream").asBoolean()) {
+            int nodes = streamSnapshot(driver, params, profile, browserManager.getEventSink(), result, objectMapper);
+            event.end();
+            if (event.shouldCommit()) {
+                event.url = result.get("url").asText();
+                event.nodes = nodes + 1;
+                event.commit();
             }
-        } catch (Exception e) {
-            // Ignore errors when getting text
+            return result;
         }
-        
-        // Try to get attributes
-        ObjectNode attributes = node.putObject("attributes");
-        try {
-            // Common attributes
-            addAttributeIfPresent(element, attributes, "id");
-            addAttributeIfPresent(element, attributes, "class");
-            addAttributeIfPresent(element, attributes, "href");
-            addAttributeIfPresent(element, attributes, "src");
-            addAttributeIfPresent(element, attributes, "alt");
-            addAttributeIfPresent(element, attributes, "title");
-            addAttributeIfPresent(element, attributes, "value");
-            addAttributeIfPresent(element, attributes, "placeholder");
-            addAttributeIfPresent(element, attributes, "type");
-            addAttributeIfPresent(element, attributes, "name");
-            addAttributeIfPresent(element, attributes, "role");
-            addAttributeIfPresent(element, attributes, "aria-label");
-            
-            // Add more attributes as needed
-        } catch (Exception e) {
-            // Ignore errors when getting attributes
+
+        // Unbounded snapshots of huge pages are capped; callers continue with nextCursor
+        PageSnapshot.Scope scope = createScope(driver, params);
+        if (!params.has("maxNodes")) {
+            scope.maxNodes(browserManager.getConfig().getSnapshotMaxNodes());
         }
-        
-        // Try to get position and size
-        try {
-            Rectangle rect = element.getRect();
-            ObjectNode position = node.putObject("position");
-            position.put("x", rect.getX());
-            position.put("y", rect.getY());
-            position.put("width", rect.getWidth());
-            position.put("height", rect.getHeight());
-        } catch (Exception e) {
-            // Ignore errors when getting position
+        PageSnapshot snapshot;
+        try (Span span = Trace.span("collect")) {
+            snapshot = PageSnapshot.capture(driver, profile, scope);
+            span.setAttribute("nodes", snapshot.size());
         }
-        
-        // Process children
-        try {
-            List<WebElement> children = element.findElements(By.xpath("./*"));
-            if (!children.isEmpty()) {
-                ArrayNode childNodes = node.putArray("children");
-                for (WebElement child : children) {
-                    if (elementIds.containsKey(child)) {
-                        childNodes.add(processElement(child, elementIds, objectMapper));
-                    }
-                }
-            }
-        } catch (Exception e) {
-            // Ignore errors when processing children
+        if (profile.equals(PageSnapshot.PROFILE_TEXT)) {
+            result.put("snapshot", snapshot.toText());
+        } else {
+            result.set("snapshot", snapshot.toTree(objectMapper));
+        }
+        if (snapshot.isTruncated()) {
+            result.put("truncated", true);
+        }
+        if (snapshot.hasMore()) {
+            result.put("hasMore", true);
+            result.put("nextCursor", snapshot.getNextCursor());
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.url = result.get("url").asText();
+            event.nodes = snapshot.size() + 1;
+            event.commit();
         }
         
-        return node;
+        return result;
     }
 
-    private void addAttributeIfPresent(WebElement element, ObjectNode attributes, String attributeName) {
-        try {
-            String value = element.getAttribute(attributeName);
-            if (value != null && !value.isEmpty()) {
-                attributes.put(attributeName, value);
+    /**
+     * Send the snapshot as snapshotChunk events of at most chunkSize nodes each.
+     * Only one chunk is held at a time; the complete node list stays in the page
+     * until the last chunk is read.
+     *
+     * @return the number of nodes sent
+     */
+    private int streamSnapshot(WebDriver driver, JsonNode params, String profile, EventSink sink,
+                               ObjectNode result, ObjectMapper objectMapper) throws Exception {
+        String streamId = UUID.randomUUID().toString();
+        int chunkSize = params.has("chunkSize") ? params.get("chunkSize").asInt() : DEFAULT_CHUNK_SIZE;
+        PageSnapshot.Scope scope = createScope(driver, params).maxNodes(chunkSize).keep(streamId);
+
+        int chunks = 0;
+        int nodes = 0;
+        boolean truncated = false;
+        PageSnapshot chunk;
+        do {
+            try (Span span = Trace.span("collect")) {
+                chunk = PageSnapshot.capture(driver, profile, scope);
+                span.setAttribute("nodes", chunk.size());
             }
-        } catch (Exception e) {
-            // Ignore errors when getting attribute
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("streamId", streamId);
+            data.put("seq", chunks);
+            if (profile.equals(PageSnapshot.PROFILE_TEXT)) {
+                data.put("text", chunk.toText());
+            } else {
+                data.put("nodes", chunk.getNodes());
+            }
+            data.put("hasMore", chunk.hasMore());
+
+            if (!Trace.call("transmit", () -> sink.sendEvent("snapshotChunk", objectMapper.writeValueAsString(data)))) {
+                throw new IllegalStateException("Client disconnected while streaming snapshot " + streamId);
+            }
+
+            chunks++;
+            nodes += chunk.size();
+            truncated = truncated || chunk.isTruncated();
+            scope.resume(streamId).since(chunk.getNextCursor());
+        } while (chunk.hasMore() && chunk.size() > 0);
+
+        result.put("streamId", streamId);
+        result.put("chunks", chunks);
+        result.put("nodes", nodes);
+        if (truncated) {
+            result.put("truncated", true);
+        }
+        result.put("message", "Streamed " + nodes + " nodes in " + chunks + " snapshotChunk events");
+        return nodes;
+    }
+
+    private PageSnapshot.Scope createScope(WebDriver driver, JsonNode params) {
+        PageSnapshot.Scope scope = new PageSnapshot.Scope();
+        if (params.has("ref")) {
+            scope.root(ElementFinder.findElement(driver, params.get("ref").asText()));
+        }
+        if (params.has("viewport") && params.get("viewport").asBoolean()) {
+            scope.viewport(params.has("viewportMargin") ? params.get("viewportMargin").asInt() : 200);
+        }
+        if (params.has("maxDepth")) {
+            scope.maxDepth(params.get("maxDepth").asInt());
+        }
+        if (params.has("maxNodes")) {
+            scope.maxNodes(params.get("maxNodes").asInt());
+        }
+        if (params.has("since")) {
+            scope.since(params.get("since").asLong());
         }
+        return scope;
     }
 }
@@ -1,5 +1,7 @@
 package com.selenium.mcp.server.tools.browser;
 
+import com.selenium.mcp.server.tracing.Span;
+import com.selenium.mcp.server.tracing.Trace;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -47,19 +49,24 @@ public class ElementFinder {
             ElementFinder::findByCommonSelectors
         );
 
-        for (ElementFindingStrategy strategy : strategies) {
-            try {
-                WebElement element = strategy.find(driver, elementRef);
-                if (element != null && isElementVisible(element)) {
-                    logger.debug("Found element using strategy: {}", strategy.getClass().getSimpleName());
-                    return element;
+        try (Span span = Trace.span("locate")) {
+            for (int i = 0; i < strategies.size(); i++) {
+                ElementFindingStrategy strategy = strategies.get(i);
+                try {
+                    WebElement element = strategy.find(driver, elementRef);
+                    if (element != null && isElementVisible(element)) {
+                        logger.debug("Found element using strategy: {}", strategy.getClass().getSimpleName());
+                        span.setAttribute("strategies", i + 1);
+                        return element;
+                    }
+                } catch (Exception e) {
+                    logger.debug("Strategy {} failed: {}", strategy.getClass().getSimpleName(), e.getMessage());
                 }
-            } catch (Exception e) {
-                logger.debug("Strategy {} failed: {}", strategy.getClass().getSimpleName(), e.getMessage());
             }
-        }
 
-        throw new NoSuchElementException("Could not find element with reference: " + elementRef);
+            span.setAttribute("strategies", strategies.size());
+            throw new NoSuchElementException("Could not find element with reference: " + elementRef);
+        }
     }
 
     /**
@@ -72,20 +79,23 @@ public class ElementFinder {
         logger.debug("Finding elements with reference: {}", elementRef);
         List<WebElement> elements = new ArrayList<>();
 
-        // Try different strategies
-        try {
-            elements.addAll(findByElementRefMultiple(driver, elementRef));
-        } catch (Exception e) {
-            logger.debug("Element ref strategy failed: {}", e.getMessage());
-        }
+        try (Span span = Trace.span("locate")) {
+            // Try different strategies
+            try {
+                elements.addAll(findByElementRefMultiple(driver, elementRef));
+            } catch (Exception e) {
+                logger.debug("Element ref strategy failed: {}", e.getMessage());
+            }
 
-        try {
-            elements.addAll(findByVisibleTextMultiple(driver, elementRef));
-        } catch (Exception e) {
-            logger.debug("Visible text strategy failed: {}", e.getMessage());
-        }
+            try {
+                elements.addAll(findByVisibleTextMultiple(driver, elementRef));
+            } catch (Exception e) {
+                logger.debug("Visible text strategy failed: {}", e.getMessage());
+            }
 
-        // Add more strategies as needed...
+            // Add more strategies as needed...
+            span.setAttribute("found", elements.size());
+        }
 
         return elements;
     }
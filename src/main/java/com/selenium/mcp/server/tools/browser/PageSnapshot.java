@@ -0,0 +1,290 @@
+package com.selenium.mcp.server.tools.browser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of the page's element tree, collected by one script run in the page.
+ * Nodes are kept as a flat list in document order with their depth in the tree,
+ * and turned into a nested JSON tree or an indented text outline on demand.
+ */
+public class PageSnapshot {
+    public static final String PROFILE_FULL = "full";
+    public static final String PROFILE_INTERACTIVE = "interactive";
+    public static final String PROFILE_TEXT = "text";
+    public static final List<String> PROFILES = List.of(PROFILE_FULL, PROFILE_INTERACTIVE, PROFILE_TEXT);
+
+    private static final String SCRIPT = loadScript();
+
+    private final String profile;
+    private final List<Map<String, Object>> nodes;
+    private final boolean truncated;
+    private final boolean hasMore;
+    private final long nextCursor;
+
+    private PageSnapshot(String profile, List<Map<String, Object>> nodes, boolean truncated, boolean hasMore, long nextCursor) {
+        this.profile = profile;
+        this.nodes = nodes;
+        this.truncated = truncated;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Collect a snapshot of the current document's body.
+     *
+     * @param profile one of {@link #PROFILES}
+     */
+    public static PageSnapshot capture(WebDriver driver, String profile) {
+        return capture(driver, profile, new Scope());
+    }
+
+    /**
+     * Collect a snapshot limited to a scope.
+     *
+     * @param profile one of {@link #PROFILES}
+     */
+    @SuppressWarnings("unchecked")
+    public static PageSnapshot capture(WebDriver driver, String profile, Scope scope) {
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("profile", profile);
+        if (scope.viewportMargin >= 0) {
+            options.put("viewport", true);
+            options.put("margin", scope.viewportMargin);
+        }
+        options.put("maxDepth", scope.maxDepth);
+        options.put("maxNodes", scope.maxNodes);
+        options.put("since", scope.since);
+        if (scope.keep != null) {
+            options.put("keep", scope.keep);
+        }
+        if (scope.resume != null) {
+            options.put("resume", scope.resume);
+        }
+
+        Map<String, Object> data = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SCRIPT, options, scope.root);
+        if (data == null) {
+            return new PageSnapshot(profile, new ArrayList<>(), false, false, scope.since);
+        }
+        if (Boolean.TRUE.equals(data.get("expired"))) {
+            throw new IllegalArgumentException("Cursor " + scope.since
+                    + " is no longer valid, its element has left the page. Take a new snapshot.");
+        }
+        List<Map<String, Object>> nodes = data.get("nodes") instanceof List
+                ? (List<Map<String, Object>>) data.get("nodes")
+                : new ArrayList<>();
+        Object nextCursor = data.get("nextCursor");
+        return new PageSnapshot(profile, nodes, Boolean.TRUE.equals(data.get("truncated")), Boolean.TRUE.equals(data.get("hasMore")),
+                nextCursor instanceof Number ? ((Number) nextCursor).longValue() : scope.since);
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * Check whether elements below the depth limit were left out.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Check whether the node limit cut the snapshot short.
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Get the cursor to pass as {@link Scope#since} to continue after the last node.
+     * It marks the node's element in the page, so it stays valid while earlier
+     * parts of the page change.
+     */
+    public long getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Get the nodes in document order, each with its depth in the tree.
+     */
+    public List<Map<String, Object>> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Get the number of nodes, not counting the document root.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Build the nested tree under a "Document" root node.
+     */
+    public ObjectNode toTree(ObjectMapper objectMapper) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("type", "root");
+        root.put("name", "Document");
+        root.put("ref", "root");
+
+        // Open ancestors with their depths; a continued page may start below depth 0
+        Deque<ObjectNode> parents = new ArrayDeque<>();
+        Deque<Integer> parentDepths = new ArrayDeque<>();
+        parents.push(root);
+        parentDepths.push(-1);
+        for (Map<String, Object> record : nodes) {
+            int depth = depthOf(record);
+            while (parentDepths.peek() >= depth) {
+                parents.pop();
+                parentDepths.pop();
+            }
+
+            ObjectNode parent = parents.peek();
+            ArrayNode children = parent.has("children") ? (ArrayNode) parent.get("children") : parent.putArray("children");
+            ObjectNode node = children.addObject();
+            for (Map.Entry<String, Object> field : record.entrySet()) {
+                if (!field.getKey().equals("depth")) {
+                    node.set(field.getKey(), objectMapper.valueToTree(field.getValue()));
+                }
+            }
+
+            parents.push(node);
+            parentDepths.push(depth);
+        }
+        return root;
+    }
+
+    /**
+     * Render the nodes as an indented outline, one line per node:
+     * {@code - type "name" [ref=element-12] key=value}.
+     */
+    public String toText() {
+        StringBuilder out = new StringBuilder();
+        for (Map<String, Object> record : nodes) {
+            int depth = depthOf(record);
+            for (int i = 0; i < depth; i++) {
+                out.append("  ");
+            }
+            out.append("- ").append(record.get("type"));
+            Object name = record.get("name");
+            if (name != null) {
+                out.append(" \"").append(String.valueOf(name).replace("\"", "\\\"")).append('"');
+            }
+            out.append(" [ref=").append(record.get("ref")).append(']');
+            for (Map.Entry<String, Object> field : record.entrySet()) {
+                String key = field.getKey();
+                if (!key.equals("depth") && !key.equals("type") && !key.equals("name") && !key.equals("ref")) {
+                    out.append(' ').append(key).append('=').append(field.getValue());
+                }
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    private static int depthOf(Map<String, Object> record) {
+        Object depth = record.get("depth");
+        return depth instanceof Number ? ((Number) depth).intValue() : 0;
+    }
+
+    private static String loadScript() {
+        try (InputStream in = PageSnapshot.class.getResourceAsStream("snapshot.js")) {
+            if (in == null) {
+                throw new IllegalStateException("snapshot.js is missing from the classpath");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Part of the page to walk. By default the whole body is walked without limits.
+     */
+    public static class Scope {
+        private WebElement root;
+        private int viewportMargin = -1;
+        private int maxDepth;
+        private int maxNodes;
+        private long since = -1;
+        private String keep;
+        private String resume;
+
+        /**
+         * Walk only the subtree of this element.
+         */
+        public Scope root(WebElement root) {
+            this.root = root;
+            return this;
+        }
+
+        /**
+         * Walk only elements within this many pixels of the viewport.
+         */
+        public Scope viewport(int margin) {
+            this.viewportMargin = Math.max(margin, 0);
+            return this;
+        }
+
+        /**
+         * Stop this many levels below the root. 0 means no limit.
+         */
+        public Scope maxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Return at most this many nodes. 0 means no limit.
+         */
+        public Scope maxNodes(int maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        /**
+         * Return only nodes after this cursor, as returned by {@link #getNextCursor()}.
+         * Capturing fails with an IllegalArgumentException once the cursor's element has left the page.
+         */
+        public Scope since(long since) {
+            this.since = since;
+            return this;
+        }
+
+        /**
+         * Keep the complete node list in the page under this id, to page through with {@link #resume}.
+         */
+        public Scope keep(String id) {
+            this.keep = id;
+            this.resume = null;
+            return this;
+        }
+
+        /**
+         * Page through a node list kept with {@link #keep} instead of walking the document again.
+         * Falls back to a new walk if the page no longer holds the list.
+         */
+        public Scope resume(String id) {
+            this.resume = id;
+            this.keep = null;
+            return this;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selenium.mcp.server.BrowserManager;
 import com.selenium.mcp.server.tools.AbstractTool;
 import com.selenium.mcp.server.tools.browser.ElementFinder;
+import com.selenium.mcp.server.tracing.Trace;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
@@ -77,28 +78,32 @@ public class BrowserClickTool extends AbstractTool {
 
         if (!force) {
             // Wait for element to be clickable
-            WebDriverWait wait = new WebDriverWait(driver, CLICK_TIMEOUT);
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            Trace.run("wait", () -> {
+                WebDriverWait wait = new WebDriverWait(driver, CLICK_TIMEOUT);
+                wait.until(ExpectedConditions.elementToBeClickable(element));
+            });
         }
 
         Actions actions = new Actions(driver);
 
         try {
-            if (doubleClick) {
-                actions.doubleClick(element).perform();
-                result.put("message", "Double clicked element: " + params.get("element").asText());
-            } else if (rightClick) {
-                actions.contextClick(element).perform();
-                result.put("message", "Right clicked element: " + params.get("element").asText());
-            } else {
-                if (force) {
-                    // Use JavaScript click as a fallback
-                    ((org.openqa.selenium.JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+            Trace.run("act", () -> {
+                if (doubleClick) {
+                    actions.doubleClick(element).perform();
+                    result.put("message", "Double clicked element: " + params.get("element").asText());
+                } else if (rightClick) {
+                    actions.contextClick(element).perform();
+                    result.put("message", "Right clicked element: " + params.get("element").asText());
                 } else {
-                    element.click();
+                    if (force) {
+                        // Use JavaScript click as a fallback
+                        ((org.openqa.selenium.JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+                    } else {
+                        element.click();
+                    }
+                    result.put("message", "Clicked element: " + params.get("element").asText());
                 }
-                result.put("message", "Clicked element: " + params.get("element").asText());
-            }
+            });
         } catch (Exception e) {
             logger.error("Failed to click element: {}", e.getMessage());
             if (force) {
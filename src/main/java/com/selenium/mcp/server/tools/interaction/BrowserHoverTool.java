@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selenium.mcp.server.BrowserManager;
 import com.selenium.mcp.server.tools.AbstractTool;
+import com.selenium.mcp.server.tracing.Trace;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
@@ -68,22 +69,26 @@ public class BrowserHoverTool extends AbstractTool {
         logger.info("Hovering over element: {} (ref: {})", elementDesc, elementRef);
         
         // Find the element by its reference ID
-        WebElement element = findElementByRef(driver, elementRef);
+        WebElement element = Trace.call("locate", () -> findElementByRef(driver, elementRef));
         
         // Scroll the element into view
         ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
         
         // Wait for the element to be visible
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        wait.until(ExpectedConditions.visibilityOf(element));
+        Trace.run("wait", () -> {
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+            wait.until(ExpectedConditions.visibilityOf(element));
+        });
         
         // Hover over the element
-        Actions actions = new Actions(driver);
-        actions.moveToElement(element).perform();
+        Trace.run("act", () -> {
+            Actions actions = new Actions(driver);
+            actions.moveToElement(element).perform();
+        });
         
         // Wait a moment for any hover effects
         try {
-            Thread.sleep(500);
+            Trace.run("settle", () -> Thread.sleep(500));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selenium.mcp.server.BrowserManager;
 import com.selenium.mcp.server.tools.AbstractTool;
 import com.selenium.mcp.server.tools.browser.ElementFinder;
+import com.selenium.mcp.server.tracing.Trace;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.Keys;
@@ -82,34 +83,38 @@ public class BrowserTypeTool extends AbstractTool {
 
         if (!force) {
             // Wait for element to be interactable
-            WebDriverWait wait = new WebDriverWait(driver, TYPE_TIMEOUT);
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            Trace.run("wait", () -> {
+                WebDriverWait wait = new WebDriverWait(driver, TYPE_TIMEOUT);
+                wait.until(ExpectedConditions.elementToBeClickable(element));
+            });
         }
 
         try {
-            if (clear) {
+            Trace.run("act", () -> {
+                if (clear) {
+                    if (force) {
+                        // Use JavaScript to clear the element
+                        ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
+                            "arguments[0].value = '';", element);
+                    } else {
+                        element.clear();
+                    }
+                }
+
                 if (force) {
-                    // Use JavaScript to clear the element
+                    // Use JavaScript to set the value
                     ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
-                        "arguments[0].value = '';", element);
+                        "arguments[0].value = arguments[1];", element, text);
                 } else {
-                    element.clear();
+                    element.sendKeys(text);
                 }
-            }
 
-            if (force) {
-                // Use JavaScript to set the value
-                ((org.openqa.selenium.JavascriptExecutor) driver).executeScript(
-                    "arguments[0].value = arguments[1];", element, text);
-            } else {
-                element.sendKeys(text);
-            }
-
-            if (submit) {
-                element.sendKeys(Keys.RETURN);
-            }
+                if (submit) {
+                    element.sendKeys(Keys.RETURN);
+                }
 
-            result.put("message", "Typed text into element: " + params.get("element").asText());
+                result.put("message", "Typed text into element: " + params.get("element").asText());
+            });
         } catch (Exception e) {
             logger.error("Failed to type into element: {}", e.getMessage());
             if (force) {
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selenium.mcp.server.BrowserManager;
 import com.selenium.mcp.server.tools.AbstractTool;
+import com.selenium.mcp.server.tracing.Trace;
 import org.openqa.selenium.WebDriver;
 
 /**
@@ -40,11 +41,11 @@ public class BrowserNavigateBackTool extends AbstractTool {
         WebDriver driver = browserManager.getDriver();
         
         logger.info("Navigating back");
-        driver.navigate().back();
+        Trace.run("act", () -> driver.navigate().back());
         
         // Wait for page to load
         try {
-            Thread.sleep(1000); // Simple wait for page to start loading
+            Trace.run("settle", () -> Thread.sleep(1000)); // Simple wait for page to start loading
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
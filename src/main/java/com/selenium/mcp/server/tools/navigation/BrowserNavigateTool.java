@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.selenium.mcp.server.BrowserManager;
 import com.selenium.mcp.server.tools.AbstractTool;
+import com.selenium.mcp.server.tracing.Trace;
 import org.openqa.selenium.WebDriver;
 
 /**
@@ -44,29 +45,29 @@ public class BrowserNavigateTool extends AbstractTool {
             throw new IllegalArgumentException("URL parameter is required");
         }
         
-        String url = params.get("url").asText();
-        if (!url.startsWith("http://") && !url.startsWith("https://") && !url.startsWith("file://")) {
-            // Add https:// prefix if missing
-            url = "https://" + url;
-        }
+        String requested = params.get("url").asText();
+        // Add https:// prefix if missing
+        String url = requested.startsWith("http://") || requested.startsWith("https://") || requested.startsWith("file://")
+                ? requested
+                : "https://" + requested;
     }
 
     @Override
     protected JsonNode executeImpl(JsonNode params, BrowserManager browserManager) throws Exception {
         WebDriver driver = browserManager.getDriver();
         
-        String url = params.get("url").asText();
-        if (!url.startsWith("http://") && !url.startsWith("https://") && !url.startsWith("file://")) {
-            // Add https:// prefix if missing
-            url = "https://" + url;
-        }
+        String requested = params.get("url").asText();
+        // Add https:// prefix if missing
+        String url = requested.startsWith("http://") || requested.startsWith("https://") || requested.startsWith("file://")
+                ? requested
+                : "https://" + requested;
         
         logger.info("Navigating to URL: {}", url);
-        driver.get(url);
+        Trace.run("act", () -> driver.get(url));
         
         // Wait for page to load
         try {
-            Thread.sleep(1000); // Simple wait for page to start loading
+            Trace.run("settle", () -> Thread.sleep(1000)); // Simple wait for page to start loading
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -0,0 +1,66 @@
+package com.selenium.mcp.server.tools.utility;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.selenium.mcp.server.BrowserManager;
+import com.selenium.mcp.server.metrics.ToolMetrics;
+import com.selenium.mcp.server.proxy.HttpCache;
+import com.selenium.mcp.server.tools.AbstractTool;
+
+/**
+ * Tool to report per-tool latency and usage metrics.
+ * Useful in stdio mode, where the /metrics endpoint is not available.
+ */
+public class ServerStatsTool extends AbstractTool {
+    private final ToolMetrics metrics;
+
+    public ServerStatsTool(ToolMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getName() {
+        return "server_stats";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Server statistics";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Returns per-tool call counts, errors, in-flight calls, latency percentiles, response sizes and WebDriver calls per tool call";
+    }
+
+    @Override
+    public JsonNode getParameterSchema(ObjectMapper objectMapper) {
+        return createParameterSchema(objectMapper);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    protected JsonNode executeImpl(JsonNode params, BrowserManager browserManager) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode result = metrics.toJson(objectMapper);
+        ObjectNode driver = browserManager.getCommandStats().toJson(objectMapper);
+        driver.put("recoveries", browserManager.getRecoveries());
+        driver.put("recycles", browserManager.getRecycles());
+        int poolIdle = browserManager.getPoolIdle();
+        if (poolIdle >= 0) {
+            driver.put("poolIdle", poolIdle);
+        }
+        result.set("driver", driver);
+        HttpCache httpCache = browserManager.getHttpCache();
+        if (httpCache != null) {
+            result.set("httpCache", httpCache.toJson(objectMapper));
+        }
+        result.put("message", "Server statistics");
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+package com.selenium.mcp.server.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A timed phase of a tool call. Spans are closed with try-with-resources:
+ * <pre>
+ * try (Span span = Trace.span("locate")) {
+ *     ...
+ * }
+ * </pre>
+ * Phases that set no attributes use {@link Trace#run} or {@link Trace#call} instead.
+ */
+public class Span implements AutoCloseable {
+    static final Span NOOP = new Span(null, null, null, 0);
+
+    private final Trace trace;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final long startNanos;
+    private long endNanos = -1;
+    private Map<String, String> attributes = Collections.emptyMap();
+
+    Span(Trace trace, String name, Span parent, long startNanos) {
+        this.trace = trace;
+        this.name = name;
+        this.spanId = trace != null ? trace.nextSpanId() : null;
+        this.parentSpanId = parent != null ? parent.spanId : null;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Attach an attribute to the span.
+     */
+    public Span setAttribute(String key, Object value) {
+        if (trace != null) {
+            if (attributes.isEmpty()) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (trace != null && endNanos < 0) {
+            endNanos = System.nanoTime();
+            trace.onClose(this);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getEndNanos() {
+        return endNanos;
+    }
+
+    public long getDurationNanos() {
+        return endNanos >= 0 ? endNanos - startNanos : 0;
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+}
@@ -0,0 +1,184 @@
+package com.selenium.mcp.server.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Phase timings of a single tool call.
+ * A trace is bound to the thread handling the call, so tools and helpers
+ * such as ElementFinder open spans with {@link #span(String)} without
+ * passing the trace around. Outside a trace, spans are no-ops.
+ */
+public class Trace {
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private final String traceId;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final Span root;
+    private final Deque<Span> open = new ArrayDeque<>();
+    private final List<Span> spans = new ArrayList<>();
+    private int spanCount;
+
+    private Trace(String name) {
+        this.traceId = randomHex(16);
+        this.startEpochNanos = System.currentTimeMillis() * 1_000_000L;
+        this.startNanos = System.nanoTime();
+        this.root = new Span(this, name, null, startNanos);
+        open.push(root);
+    }
+
+    /**
+     * Start a trace on the current thread.
+     */
+    public static Trace begin(String name) {
+        Trace trace = new Trace(name);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Get the trace of the current thread, or null if none is active.
+     */
+    public static Trace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Open a span in the current thread's trace.
+     */
+    public static Span span(String name) {
+        Trace trace = CURRENT.get();
+        return trace != null ? trace.startSpan(name) : Span.NOOP;
+    }
+
+    /**
+     * Run a phase in a span of the current thread's trace.
+     */
+    public static <E extends Exception> void run(String name, Phase<E> phase) throws E {
+        Span span = span(name);
+        try {
+            phase.run();
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Compute a value in a span of the current thread's trace.
+     */
+    public static <T, E extends Exception> T call(String name, Computation<T, E> computation) throws E {
+        Span span = span(name);
+        try {
+            return computation.call();
+        } finally {
+            span.close();
+        }
+    }
+
+    private Span startSpan(String name) {
+        Span span = new Span(this, name, open.peek(), System.nanoTime());
+        open.push(span);
+        return span;
+    }
+
+    void onClose(Span span) {
+        // Spans close in reverse order; tolerate a span left open by an exception
+        while (!open.isEmpty()) {
+            if (open.pop() == span) {
+                break;
+            }
+        }
+        spans.add(span);
+    }
+
+    String nextSpanId() {
+        return traceId.substring(0, 8) + String.format("%08x", ++spanCount);
+    }
+
+    /**
+     * End the trace and unbind it from the current thread.
+     */
+    public void end() {
+        while (!open.isEmpty()) {
+            open.peek().close();
+        }
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public Span getRoot() {
+        return root;
+    }
+
+    /**
+     * Get the closed spans, children before their parents.
+     */
+    public List<Span> getSpans() {
+        return spans;
+    }
+
+    long toEpochNanos(long nanos) {
+        return startEpochNanos + (nanos - startNanos);
+    }
+
+    /**
+     * Convert the closed phase spans to JSON, with offsets and durations in milliseconds.
+     */
+    public ArrayNode toJson(ObjectMapper objectMapper) {
+        ArrayNode result = objectMapper.createArrayNode();
+        for (Span span : spans) {
+            if (span == root) {
+                continue;
+            }
+            ObjectNode node = result.addObject();
+            node.put("name", span.getName());
+            node.put("startMs", (span.getStartNanos() - startNanos) / 1_000_000.0);
+            node.put("durationMs", span.getDurationNanos() / 1_000_000.0);
+            if (!span.getAttributes().isEmpty()) {
+                ObjectNode attributes = node.putObject("attributes");
+                for (Map.Entry<String, String> attribute : span.getAttributes().entrySet()) {
+                    attributes.put(attribute.getKey(), attribute.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Body of a phase run with {@link #run}.
+     */
+    @FunctionalInterface
+    public interface Phase<E extends Exception> {
+        void run() throws E;
+    }
+
+    /**
+     * Body of a phase run with {@link #call}.
+     */
+    @FunctionalInterface
+    public interface Computation<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private static String randomHex(int bytes) {
+        StringBuilder hex = new StringBuilder(bytes * 2);
+        for (int i = 0; i < bytes; i++) {
+            hex.append(String.format("%02x", ThreadLocalRandom.current().nextInt(256)));
+        }
+        return hex.toString();
+    }
+}
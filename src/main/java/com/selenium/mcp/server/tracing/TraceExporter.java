@@ -0,0 +1,97 @@
+package com.selenium.mcp.server.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Appends finished traces to a local file in OpenTelemetry OTLP/JSON format,
+ * one ExportTraceServiceRequest per line, as written by the collector's file exporter.
+ */
+public class TraceExporter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(TraceExporter.class);
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int SPAN_KIND_SERVER = 2;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path path;
+    private BufferedWriter writer;
+
+    public TraceExporter(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Export a finished trace. Errors are logged rather than failing the tool call.
+     */
+    public synchronized void export(Trace trace, Map<String, String> resourceAttributes) {
+        try {
+            if (writer == null) {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                logger.info("Exporting traces to {}", path.toAbsolutePath());
+            }
+            writer.write(objectMapper.writeValueAsString(toOtlp(trace, resourceAttributes)));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.warn("Failed to export trace: {}", e.getMessage());
+        }
+    }
+
+    private ObjectNode toOtlp(Trace trace, Map<String, String> resourceAttributes) {
+        ObjectNode request = objectMapper.createObjectNode();
+        ObjectNode resourceSpans = request.putArray("resourceSpans").addObject();
+        writeAttributes(resourceSpans.putObject("resource").putArray("attributes"), resourceAttributes);
+
+        ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+        scopeSpans.putObject("scope").put("name", "selenium-mcp");
+        ArrayNode spans = scopeSpans.putArray("spans");
+
+        for (Span span : trace.getSpans()) {
+            ObjectNode node = spans.addObject();
+            node.put("traceId", trace.getTraceId());
+            node.put("spanId", span.getSpanId());
+            if (span.getParentSpanId() != null) {
+                node.put("parentSpanId", span.getParentSpanId());
+            }
+            node.put("name", span.getName());
+            node.put("kind", span == trace.getRoot() ? SPAN_KIND_SERVER : SPAN_KIND_INTERNAL);
+            // OTLP/JSON encodes 64-bit integers as strings
+            node.put("startTimeUnixNano", String.valueOf(trace.toEpochNanos(span.getStartNanos())));
+            node.put("endTimeUnixNano", String.valueOf(trace.toEpochNanos(span.getEndNanos())));
+            writeAttributes(node.putArray("attributes"), span.getAttributes());
+        }
+        return request;
+    }
+
+    private static void writeAttributes(ArrayNode target, Map<String, String> attributes) {
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            ObjectNode node = target.addObject();
+            node.put("key", attribute.getKey());
+            node.putObject("value").put("stringValue", attribute.getValue());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
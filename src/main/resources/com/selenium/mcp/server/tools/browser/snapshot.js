@@ -0,0 +1,355 @@
+/*
+ * Page snapshot collector, run with executeScript(script, options, root).
+ * Returns the kept elements as a flat list in document order, each with its
+ * depth in the snapshot tree. Refs are "element-" plus the element's index in
+ * document.getElementsByTagName('*'), the same order as the XPath //* used by
+ * ElementFinder.
+ *
+ * options.profile:
+ *   full        every element with its text, common attributes and position
+ *   interactive actionable and labelled elements plus landmark containers
+ *   text        elements with their own text, plus actionable elements
+ * Compact profiles skip hidden and offscreen subtrees and replace wrappers
+ * that carry nothing by their children.
+ *
+ * The walk starts at root (default: body) and can be limited to elements
+ * near the viewport (options.viewport, options.margin), to options.maxDepth
+ * levels below root, and to options.maxNodes nodes after the cursor
+ * options.since.
+ *
+ * A cursor is a number stamped on the element of the last returned node, so a
+ * continuation resumes after that element wherever it is now, whatever was
+ * added or removed earlier in the page. The numbers start from the time the
+ * page first handed one out, so a cursor from another page matches nothing.
+ * If the element has left the page the result has expired set instead.
+ *
+ * For chunked delivery, options.keep stores the complete node list in the page
+ * under that id, and later calls with options.resume set to the id page through
+ * it without walking the document again. The list is dropped with the last page.
+ */
+var options = arguments[0] || {};
+var profile = options.profile || 'full';
+var maxText = options.maxText || 200;
+var viewport = !!options.viewport;
+var margin = options.margin || 0;
+var maxDepth = options.maxDepth || 0;
+var maxNodes = options.maxNodes || 0;
+var since = typeof options.since === 'number' ? options.since : -1;
+var CURSOR = '__seleniumMcpCursor';
+var truncated = false;
+
+var all = document.getElementsByTagName('*');
+var index = new Map();
+var sinceIndex = -1;
+for (var i = 0; i < all.length; i++) {
+    index.set(all[i], i);
+    if (since >= 0 && all[i][CURSOR] === since) {
+        sinceIndex = i;
+    }
+}
+// A kept walk collects everything and pages afterwards
+var walkSince = options.keep ? -1 : sinceIndex;
+var walkMaxNodes = options.keep ? 0 : maxNodes;
+// Element of each collected node, to stamp the cursor on
+var elements = new Map();
+
+var FULL_ATTRIBUTES = ['id', 'class', 'href', 'src', 'alt', 'title', 'value', 'placeholder', 'type', 'name', 'role', 'aria-label'];
+var SKIPPED = {SCRIPT: 1, STYLE: 1, NOSCRIPT: 1, TEMPLATE: 1, LINK: 1, META: 1};
+var INTERACTIVE_TAGS = {A: 1, BUTTON: 1, INPUT: 1, SELECT: 1, TEXTAREA: 1, SUMMARY: 1, OPTION: 1};
+var INTERACTIVE_ROLES = {button: 1, link: 1, checkbox: 1, radio: 1, tab: 1, menuitem: 1, menuitemcheckbox: 1,
+    menuitemradio: 1, option: 1, 'switch': 1, textbox: 1, searchbox: 1, combobox: 1, slider: 1, spinbutton: 1, treeitem: 1};
+var LANDMARK_TAGS = {FORM: 1, NAV: 1, MAIN: 1, HEADER: 1, FOOTER: 1, ASIDE: 1, DIALOG: 1, TABLE: 1, UL: 1, OL: 1, FIELDSET: 1};
+var LANDMARK_ROLES = {dialog: 1, alertdialog: 1, navigation: 1, main: 1, form: 1, region: 1, list: 1, listbox: 1, menu: 1,
+    menubar: 1, tablist: 1, grid: 1, table: 1, tree: 1, toolbar: 1, search: 1, banner: 1, contentinfo: 1, complementary: 1};
+var LABEL_TAGS = {H1: 1, H2: 1, H3: 1, H4: 1, H5: 1, H6: 1, LABEL: 1, LEGEND: 1, CAPTION: 1, IMG: 1};
+var NAMED_BY_CONTENT = {A: 1, BUTTON: 1, SUMMARY: 1, OPTION: 1, LABEL: 1, LEGEND: 1, CAPTION: 1,
+    H1: 1, H2: 1, H3: 1, H4: 1, H5: 1, H6: 1};
+// Text blocks read as one line in the text profile instead of one node per inline element
+var TEXT_BLOCKS = {P: 1, LI: 1, TD: 1, TH: 1, DT: 1, DD: 1, BLOCKQUOTE: 1, PRE: 1, FIGCAPTION: 1};
+
+function ref(el) {
+    return 'element-' + index.get(el);
+}
+
+function clip(text) {
+    text = (text || '').replace(/\s+/g, ' ').trim();
+    return text.length > maxText ? text.substring(0, maxText) + '…' : text;
+}
+
+// Attribute values as WebElement.getAttribute reports them: properties win over attributes
+function attribute(el, name) {
+    if (name !== 'class' && typeof el[name] === 'string') {
+        return el[name];
+    }
+    return el.getAttribute(name);
+}
+
+// Elements without a box of their own cannot be placed, so they are walked into
+function nearViewport(el) {
+    var rect = el.getBoundingClientRect();
+    if (rect.width === 0 && rect.height === 0) {
+        return true;
+    }
+    return rect.right >= -margin && rect.left <= window.innerWidth + margin
+        && rect.bottom >= -margin && rect.top <= window.innerHeight + margin;
+}
+
+function depthLimited(el, depth) {
+    if (maxDepth > 0 && depth >= maxDepth) {
+        truncated = truncated || el.firstElementChild !== null;
+        return true;
+    }
+    return false;
+}
+
+// One node past maxNodes is kept to tell whether more follow
+function full(out) {
+    return walkMaxNodes > 0 && out.length > walkMaxNodes;
+}
+
+function fullNode(el, depth, out) {
+    if (full(out) || (viewport && !nearViewport(el))) {
+        return;
+    }
+    if (index.get(el) <= walkSince) {
+        walkFullChildren(el, depth, out);
+        return;
+    }
+    var node = {depth: depth, type: el.tagName.toLowerCase(), ref: ref(el)};
+    var text = (el.innerText || '').trim();
+    if (text) {
+        node.name = text;
+    }
+    var attributes = {};
+    for (var i = 0; i < FULL_ATTRIBUTES.length; i++) {
+        var value = attribute(el, FULL_ATTRIBUTES[i]);
+        if (value) {
+            attributes[FULL_ATTRIBUTES[i]] = value;
+        }
+    }
+    node.attributes = attributes;
+    var rect = el.getBoundingClientRect();
+    node.position = {
+        x: Math.round(rect.left + window.scrollX), y: Math.round(rect.top + window.scrollY),
+        width: Math.round(rect.width), height: Math.round(rect.height)
+    };
+    out.push(node);
+    elements.set(node, el);
+    walkFullChildren(el, depth, out);
+}
+
+function walkFullChildren(el, depth, out) {
+    if (depthLimited(el, depth)) {
+        return;
+    }
+    for (var child = el.firstElementChild; child; child = child.nextElementSibling) {
+        fullNode(child, depth + 1, out);
+    }
+}
+
+function roleOf(el) {
+    var role = el.getAttribute('role');
+    return role ? role.split(' ')[0] : null;
+}
+
+function isInteractive(el, role) {
+    if (INTERACTIVE_TAGS[el.tagName]) {
+        return (el.tagName !== 'A' || el.hasAttribute('href')) && el.type !== 'hidden';
+    }
+    if (role && INTERACTIVE_ROLES[role]) {
+        return true;
+    }
+    if (el.isContentEditable && !(el.parentElement && el.parentElement.isContentEditable)) {
+        return true;
+    }
+    var tabIndex = el.getAttribute('tabindex');
+    return el.hasAttribute('onclick') || (tabIndex !== null && parseInt(tabIndex, 10) >= 0);
+}
+
+function isLandmark(el, role) {
+    return LANDMARK_TAGS[el.tagName] || (role && LANDMARK_ROLES[role]);
+}
+
+function ownText(el) {
+    var text = '';
+    for (var node = el.firstChild; node; node = node.nextSibling) {
+        if (node.nodeType === 3) {
+            text += node.nodeValue;
+        }
+    }
+    return text;
+}
+
+function nameOf(el, interactive) {
+    var label = el.getAttribute('aria-label');
+    if (label) {
+        return clip(label);
+    }
+    var labelledBy = el.getAttribute('aria-labelledby');
+    if (labelledBy) {
+        var parts = labelledBy.split(/\s+/).map(function (id) {
+            var target = document.getElementById(id);
+            return target ? target.textContent : '';
+        });
+        return clip(parts.join(' '));
+    }
+    if (el.tagName === 'INPUT' || el.tagName === 'TEXTAREA' || el.tagName === 'SELECT') {
+        var labels = el.labels && el.labels.length ? el.labels[0].innerText : '';
+        return clip(labels || el.getAttribute('placeholder') || el.getAttribute('title'));
+    }
+    if (el.tagName === 'IMG') {
+        return clip(el.getAttribute('alt') || el.getAttribute('title'));
+    }
+    if (NAMED_BY_CONTENT[el.tagName] || interactive || (profile === 'text' && TEXT_BLOCKS[el.tagName])) {
+        return clip(el.innerText || el.textContent);
+    }
+    return clip(ownText(el));
+}
+
+function compactNode(el, role, name) {
+    var node = {type: role || el.tagName.toLowerCase(), ref: ref(el)};
+    if (name) {
+        node.name = name;
+    }
+    if (el.tagName === 'A' && el.hasAttribute('href')) {
+        node.href = el.getAttribute('href');
+    }
+    if (el.tagName === 'INPUT' || el.tagName === 'TEXTAREA' || el.tagName === 'SELECT') {
+        if (el.type && el.type !== 'text' && el.tagName === 'INPUT') {
+            node.inputType = el.type;
+        }
+        if (el.value && el.type !== 'password' && el.type !== 'checkbox' && el.type !== 'radio') {
+            node.value = clip(el.value);
+        }
+        if (el.checked) {
+            node.checked = true;
+        }
+    }
+    if (el.disabled) {
+        node.disabled = true;
+    }
+    var expanded = el.getAttribute('aria-expanded');
+    if (expanded) {
+        node.expanded = expanded === 'true';
+    }
+    return node;
+}
+
+function isHidden(el) {
+    if (el.getAttribute('aria-hidden') === 'true' || el.hidden) {
+        return true;
+    }
+    // Options of a closed select have no boxes but still matter
+    if (el.tagName === 'OPTION' || el.tagName === 'OPTGROUP') {
+        return false;
+    }
+    if (el.getClientRects().length === 0) {
+        return getComputedStyle(el).display !== 'contents';
+    }
+    // Moved out of the document to the left or top, as visually hidden helpers are
+    var rect = el.getBoundingClientRect();
+    return rect.right + window.scrollX <= 0 || rect.bottom + window.scrollY <= 0;
+}
+
+// Returns the kept nodes of the subtree as [{node, children}]
+function compactWalk(el, consumed, depth) {
+    if (SKIPPED[el.tagName] || isHidden(el) || (viewport && !nearViewport(el))) {
+        return [];
+    }
+
+    var role = roleOf(el);
+    var interactive = isInteractive(el, role);
+    var landmark = isLandmark(el, role);
+    var visible = getComputedStyle(el).visibility !== 'hidden';
+
+    var children = [];
+    if (!(el instanceof SVGElement) && !depthLimited(el, depth)) {
+        var consumes = consumed || interactive || NAMED_BY_CONTENT[el.tagName]
+            || (profile === 'text' && TEXT_BLOCKS[el.tagName]);
+        for (var child = el.firstElementChild; child; child = child.nextElementSibling) {
+            var kept = compactWalk(child, consumes, depth + 1);
+            for (var i = 0; i < kept.length; i++) {
+                children.push(kept[i]);
+            }
+        }
+    }
+
+    var name = visible && (interactive || !consumed) ? nameOf(el, interactive) : '';
+    // A block that only repeats its single child's name, like a list item around a link, adds nothing
+    if (!interactive && children.length === 1 && children[0].node.name === name) {
+        name = '';
+    }
+    var keep = visible && (interactive
+        || (name && (profile === 'text' || LABEL_TAGS[el.tagName] || el.hasAttribute('aria-label'))));
+
+    if (keep || (landmark && (children.length > 1 || (children.length === 1 && name)))) {
+        return [{node: compactNode(el, role, name), element: el, index: index.get(el), children: children}];
+    }
+    // Wrappers without a role of their own give way to their children
+    return children;
+}
+
+function flatten(items, depth, out) {
+    for (var i = 0; i < items.length && !full(out); i++) {
+        if (items[i].index > walkSince) {
+            items[i].node.depth = depth;
+            out.push(items[i].node);
+            elements.set(items[i].node, items[i].element);
+        }
+        flatten(items[i].children, depth + 1, out);
+    }
+}
+
+// Nodes after the one whose element carries the cursor, plus one past maxNodes when more follow
+function page(nodes) {
+    var start = 0;
+    // Kept lists still hold the cursor's node; walks already left out everything up to it
+    for (var i = 0; since >= 0 && i < nodes.length; i++) {
+        if (elements.get(nodes[i])[CURSOR] === since) {
+            start = i + 1;
+            break;
+        }
+    }
+    return nodes.slice(start, maxNodes > 0 ? start + maxNodes + 1 : nodes.length);
+}
+
+function stampCursor(el) {
+    if (typeof el[CURSOR] !== 'number') {
+        window.__seleniumMcpCursors = window.__seleniumMcpCursors || Date.now() * 1000;
+        el[CURSOR] = ++window.__seleniumMcpCursors;
+    }
+    return el[CURSOR];
+}
+
+var cache = window.__seleniumMcpSnapshot;
+var nodes = [];
+if (options.resume && cache && cache.id === options.resume) {
+    truncated = cache.truncated;
+    elements = cache.elements;
+    nodes = page(cache.nodes);
+} else if (since >= 0 && sinceIndex < 0) {
+    return {expired: true, nodes: []};
+} else {
+    var root = arguments[1] || document.body || document.documentElement;
+    if (profile === 'full') {
+        fullNode(root, 0, nodes);
+    } else {
+        flatten(compactWalk(root, false, 0), 0, nodes);
+    }
+    if (options.keep) {
+        window.__seleniumMcpSnapshot = {id: options.keep, nodes: nodes, elements: elements, truncated: truncated};
+    }
+    nodes = page(nodes);
+}
+
+var result = {truncated: truncated, hasMore: maxNodes > 0 && nodes.length > maxNodes};
+if (result.hasMore) {
+    nodes.length = maxNodes;
+} else if (options.keep || options.resume) {
+    delete window.__seleniumMcpSnapshot;
+}
+if (nodes.length > 0) {
+    result.nextCursor = stampCursor(elements.get(nodes[nodes.length - 1]));
+}
+result.nodes = nodes;
+return result;